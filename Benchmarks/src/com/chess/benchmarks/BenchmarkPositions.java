@@ -0,0 +1,39 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * The fixed positions every benchmark runs over: the perft suite, which covers
+ * castling, promotions, pins and checks, plus a position with an en passant
+ * capture so every move type has at least one instance.
+ */
+final class BenchmarkPositions {
+
+    private static final String EN_PASSANT_POSITION = "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3";
+
+    private BenchmarkPositions() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    static List<String> createFENs() {
+        final List<String> fens = new ArrayList<>();
+        for (final PerftPosition position : PerftPosition.values()) {
+            fens.add(position.getFen());
+        }
+        fens.add(EN_PASSANT_POSITION);
+        return fens;
+    }
+
+    static List<Board> createBoards() {
+        final List<Board> boards = new ArrayList<>();
+        for (final String fen : createFENs()) {
+            boards.add(FenUtilities.createGameFromFEN(fen));
+        }
+        return boards;
+    }
+}
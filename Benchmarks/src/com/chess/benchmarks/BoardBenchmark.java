@@ -0,0 +1,64 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.FenUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Board construction only places the pieces; legal moves are generated on first use, see MoveGenerationBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BoardBenchmark {
+
+    private List<Board> boards;
+    private List<String> fens;
+
+    @Setup
+    public void setUp() {
+        this.boards = BenchmarkPositions.createBoards();
+        this.fens = BenchmarkPositions.createFENs();
+    }
+
+    @Benchmark
+    public Board createStandardBoard() {
+        return Board.createStandardBoard();
+    }
+
+    //Rebuilds every benchmark position from its pieces
+    @Benchmark
+    public void build(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            final Board.Builder builder = new Board.Builder();
+            for (final Piece piece : board.getAllPieces()) {
+                builder.setPiece(piece);
+            }
+            builder.setMoveMaker(board.currentPlayer().getPieceColor());
+            builder.setEnPassantPawn(board.getEnPassantPawn());
+            blackhole.consume(builder.build());
+        }
+    }
+
+    @Benchmark
+    public void createGameFromFEN(final Blackhole blackhole) {
+        for (final String fen : this.fens) {
+            blackhole.consume(FenUtilities.createGameFromFEN(fen));
+        }
+    }
+}
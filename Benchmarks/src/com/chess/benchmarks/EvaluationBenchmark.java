@@ -0,0 +1,57 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//One operation evaluates all benchmark positions, once through the Board and once through the SearchBoard
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EvaluationBenchmark {
+
+    private final BoardEvaluator evaluator = new StandardBoardEvaluator();
+    private List<Board> boards;
+    private final List<SearchBoard> searchBoards = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        this.boards = BenchmarkPositions.createBoards();
+        for (final Board board : this.boards) {
+            this.searchBoards.add(new SearchBoard(board));
+        }
+    }
+
+    @Benchmark
+    public void evaluateBoard(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            blackhole.consume(this.evaluator.evaluate(board, 0));
+        }
+    }
+
+    @Benchmark
+    public void evaluateSearchBoard(final Blackhole blackhole) {
+        for (final SearchBoard searchBoard : this.searchBoards) {
+            blackhole.consume(this.evaluator.evaluate(searchBoard, 0));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//One operation executes every legal move of the given Move subclass found in the benchmark positions
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoveBenchmark {
+
+    @Param({"MajorMove", "MajorAttackMove", "PawnMove", "PawnJump", "PawnAttackMove",
+            "PawnEnPassantAttackMove", "PawnPromotion", "KingSideCastleMove", "QueenSideCastleMove"})
+    private String moveType;
+
+    private final List<Move> moves = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (final Board board : BenchmarkPositions.createBoards()) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                if (move.getClass().getSimpleName().equals(this.moveType)) {
+                    this.moves.add(move);
+                }
+            }
+        }
+        if (this.moves.isEmpty()) {
+            throw new RuntimeException("No " + this.moveType + " in the benchmark positions");
+        }
+    }
+
+    @Benchmark
+    public void execute(final Blackhole blackhole) {
+        for (final Move move : this.moves) {
+            blackhole.consume(move.execute());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//One operation generates the moves of every piece of the given type in all benchmark positions
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoveGenerationBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    private Piece.PieceType pieceType;
+
+    private final List<Board> boards = new ArrayList<>();
+    private final List<Piece> pieces = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (final Board board : BenchmarkPositions.createBoards()) {
+            for (final Piece piece : board.getAllPieces()) {
+                if (piece.getPieceType() == this.pieceType) {
+                    this.boards.add(board);
+                    this.pieces.add(piece);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        for (int i = 0; i < this.pieces.size(); i++) {
+            blackhole.consume(this.pieces.get(i).calculateLegalMoves(this.boards.get(i)));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//One operation makes every legal move of all benchmark positions, including the check test on the result
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlayerBenchmark {
+
+    private final List<Board> boards = new ArrayList<>();
+    private final List<Move> moves = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (final Board board : BenchmarkPositions.createBoards()) {
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                this.boards.add(board);
+                this.moves.add(move);
+            }
+        }
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for (int i = 0; i < this.moves.size(); i++) {
+            blackhole.consume(this.boards.get(i).currentPlayer().makeMove(this.moves.get(i)));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBetaPruning;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//One operation is a fixed-depth search of every benchmark position, each starting from an empty table
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class SearchBenchmark {
+
+    @Param({"MiniMax", "AlphaBetaPruning"})
+    private String strategy;
+
+    @Param({"3"})
+    private int depth;
+
+    private final TranspositionTable transpositionTable = new TranspositionTable();
+    private List<Board> boards;
+    private MoveStrategy moveStrategy;
+
+    @Setup
+    public void setUp() {
+        this.boards = BenchmarkPositions.createBoards();
+    }
+
+    //Clearing the shared table instead of allocating one keeps the allocation rate about the search itself
+    @Setup(Level.Invocation)
+    public void createStrategy() {
+        if (this.strategy.equals("MiniMax")) {
+            this.moveStrategy = new MiniMax(this.depth);
+        } else {
+            this.transpositionTable.clear();
+            this.moveStrategy = new AlphaBetaPruning(this.depth, this.transpositionTable);
+        }
+    }
+
+    @Benchmark
+    public void search(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            blackhole.consume(this.moveStrategy.execute(board));
+        }
+    }
+}
@@ -26,6 +26,22 @@ public class BoardUtils {
     public static final boolean[] SECOND_RANK = initRow(48);
     public static final boolean[] FIRST_RANK = initRow(56);
 
+    public static final long[] COLUMN_MASKS = initColumnMasks();
+    public static final long[] RANK_MASKS = initRankMasks();
+
+    public static final long[] KNIGHT_ATTACK_MASKS = initLeaperMasks(new int[][]{
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACK_MASKS = initLeaperMasks(new int[][]{
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    public static final long[] WHITE_PAWN_ATTACK_MASKS = initLeaperMasks(new int[][]{{-1, -1}, {-1, 1}});
+    public static final long[] BLACK_PAWN_ATTACK_MASKS = initLeaperMasks(new int[][]{{1, -1}, {1, 1}});
+
+    //The same tables as lists of target tiles, ascending, so move generation never tests the board edge
+    public static final int[][] KNIGHT_TARGETS = initTargets(KNIGHT_ATTACK_MASKS);
+    public static final int[][] KING_TARGETS = initTargets(KING_ATTACK_MASKS);
+    public static final int[][] WHITE_PAWN_ATTACK_TARGETS = initTargets(WHITE_PAWN_ATTACK_MASKS);
+    public static final int[][] BLACK_PAWN_ATTACK_TARGETS = initTargets(BLACK_PAWN_ATTACK_MASKS);
+
     private static final List<String> ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     private static final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
 
@@ -51,6 +67,52 @@ public class BoardUtils {
         return row;
     }
 
+    //Bitboards use the tile coordinate as the bit index: bit 0 is a8, bit 63 is h1
+    private static long[] initColumnMasks() {
+        final long[] columnMasks = new long[NUM_TILES_PER_ROW];
+        for(int i = 0; i < NUM_TILES; i++) {
+            columnMasks[i % NUM_TILES_PER_ROW] |= 1L << i;
+        }
+        return columnMasks;
+    }
+
+    //Index 0 is the eighth rank, index 7 the first rank, matching the tile coordinate rows
+    private static long[] initRankMasks() {
+        final long[] rankMasks = new long[NUM_TILES_PER_ROW];
+        for(int i = 0; i < NUM_TILES; i++) {
+            rankMasks[i / NUM_TILES_PER_ROW] |= 1L << i;
+        }
+        return rankMasks;
+    }
+
+    //Jumps are given as {row delta, column delta} so that nothing can wrap around the board edge
+    private static long[] initLeaperMasks(final int[][] jumps) {
+        final long[] masks = new long[NUM_TILES];
+        for(int i = 0; i < NUM_TILES; i++) {
+            for(final int[] jump : jumps) {
+                final int row = i / NUM_TILES_PER_ROW + jump[0];
+                final int column = i % NUM_TILES_PER_ROW + jump[1];
+                if(row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW) {
+                    masks[i] |= 1L << (row * NUM_TILES_PER_ROW + column);
+                }
+            }
+        }
+        return masks;
+    }
+
+    private static int[][] initTargets(final long[] masks) {
+        final int[][] targets = new int[NUM_TILES][];
+        for(int i = 0; i < NUM_TILES; i++) {
+            long mask = masks[i];
+            targets[i] = new int[Long.bitCount(mask)];
+            for(int j = 0; mask != 0; j++) {
+                targets[i][j] = Long.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+            }
+        }
+        return targets;
+    }
+
     private static List<String> initializeAlgebraicNotation() {
         return ImmutableList.copyOf(new String[]{
                 "a8", "b8", "c8", "d8", "e8", "f8", "g8", "h8",
@@ -80,6 +142,18 @@ public class BoardUtils {
         return destinationPosition >=0 && destinationPosition < NUM_TILES;
     }
 
+    public static long squareMask(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    public static int getColumn(final int coordinate) {
+        return coordinate & (NUM_TILES_PER_ROW - 1);
+    }
+
+    public static int getRow(final int coordinate) {
+        return coordinate >>> 3;
+    }
+
     public static int getCoordinateAtPosition(final String position) {
         return POSITION_TO_COORDINATE.get(position);
     }
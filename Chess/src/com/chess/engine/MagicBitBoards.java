@@ -0,0 +1,184 @@
+package com.chess.engine;
+
+/*
+ * Sliding piece attack tables indexed by magic multiplication.
+ * For every square the relevant blockers (the rays minus the board edge) are
+ * multiplied by a per-square magic number, and the top bits of the product
+ * index a table of precomputed attack sets. The tables are filled once at
+ * class load; the magics below were found offline for this tile numbering.
+ */
+public final class MagicBitBoards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final long[] ROOK_MAGICS = {
+            0x0A80001080244000L, 0x8440049000200240L, 0xA080200080100008L, 0x4300086205001000L,
+            0x66002004700A0008L, 0x3200081001040200L, 0x3080008002000100L, 0x0E00004081082204L,
+            0x1400800080304000L, 0x1020401000200040L, 0x4000801000802000L, 0x0002000C20401200L,
+            0x0020800400800800L, 0x0080800400800200L, 0x4004001008020481L, 0x0140800040800100L,
+            0x00C0828000204000L, 0x0040010020408901L, 0x0841010040200010L, 0x240012000A420021L,
+            0x1200808004000800L, 0x0002010100040008L, 0x1402030100020004L, 0x02D0820000840041L,
+            0x2000400080208004L, 0x21A0008080400028L, 0x0546004200188020L, 0x0430002100110009L,
+            0x0A08000404004020L, 0x8002010180800400L, 0x4608014400029008L, 0x0209010200008044L,
+            0x4040400081800220L, 0x1002400081802000L, 0x8B00200080801000L, 0x0408000880801002L,
+            0x4108020040400400L, 0x2002000802001004L, 0x4420080204001001L, 0x1068059242000104L,
+            0x0400804002218000L, 0x02002010044A4000L, 0x8020020400101000L, 0x00021200200A0040L,
+            0x0042000804120020L, 0x0006004510420008L, 0x0A28810208440050L, 0x0108290040860004L,
+            0x0000800440002480L, 0x0020008040006180L, 0x8082500260008480L, 0x4008021000800880L,
+            0x0000100408010100L, 0x0200800200040080L, 0x4080021008410400L, 0x0100801100006080L,
+            0x2080008020401101L, 0x2000110022008842L, 0x2841002000440811L, 0x2300100104A10009L,
+            0x0002000410200902L, 0x000100020804000BL, 0x0212000084014802L, 0x000020430085240AL
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0020200102202040L, 0x0010110264004020L, 0x0010140060400004L, 0x0004440080800800L,
+            0x1041104004002820L, 0x0001042241020012L, 0x1446020120880011L, 0x22004400410820C0L,
+            0x0800088881080200L, 0x4028900451205200L, 0x6000040808850800L, 0x20484804A3008000L,
+            0x0600540308010020L, 0x1B10410420040010L, 0x8410104410080A40L, 0x01000E0201510840L,
+            0x4010402021420080L, 0x4050004810210049L, 0x8010094104002041L, 0x2094411804110100L,
+            0x00050100904020E0L, 0x0040400808080400L, 0x0022020088040200L, 0x0000300044020820L,
+            0xA002400020040400L, 0x0001040020282208L, 0x0014480004080110L, 0x2020080001004008L,
+            0x0880820044010400L, 0x8208424002013000L, 0x7001110004308804L, 0x2002704081040200L,
+            0x14380230510A6020L, 0x0088622202080800L, 0x0601044040080480L, 0x50E0200803090104L,
+            0x2905060400020102L, 0x7001006600A10100L, 0x80610B0408822600L, 0x0004010850020050L,
+            0x400C8804C1001080L, 0x0184110430008281L, 0x802042005000090AL, 0x620200C208000081L,
+            0x000020020C043080L, 0x8802721001000208L, 0x0810320204002440L, 0x0011080111403110L,
+            0x6400821003600208L, 0x08C4404424608000L, 0x8800302402088240L, 0x8000001020884004L,
+            0x140C401002022020L, 0x80A1092108008034L, 0x20080248020C2002L, 0x4008020084050100L,
+            0x20006206100C0282L, 0x0304010101412008L, 0x822008402084100AL, 0x2109240000842404L,
+            0x8000001040050110L, 0x002102200202020DL, 0x0818201344190400L, 0x1002102C02808208L
+    };
+
+    private static final SliderTable ROOK_TABLE = new SliderTable(ROOK_DIRECTIONS, ROOK_MAGICS);
+    private static final SliderTable BISHOP_TABLE = new SliderTable(BISHOP_DIRECTIONS, BISHOP_MAGICS);
+    private static final long[][] BETWEEN_MASKS = initBetweenMasks();
+
+    private MagicBitBoards() {
+        throw new RuntimeException("Instantiation prohibited!");
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        return ROOK_TABLE.attacks(square, occupancy);
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        return BISHOP_TABLE.attacks(square, occupancy);
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return ROOK_TABLE.attacks(square, occupancy) | BISHOP_TABLE.attacks(square, occupancy);
+    }
+
+    //Tiles strictly between two tiles on a common rank, file or diagonal; empty if they share none
+    public static long between(final int from, final int to) {
+        return BETWEEN_MASKS[from][to];
+    }
+
+    private static long[][] initBetweenMasks() {
+        final long[][] masks = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for(int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for(final int[][] directions : new int[][][]{ROOK_DIRECTIONS, BISHOP_DIRECTIONS}) {
+                for(final int[] direction : directions) {
+                    long ray = 0L;
+                    int r = BoardUtils.getRow(square) + direction[0];
+                    int c = BoardUtils.getColumn(square) + direction[1];
+                    while(r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW && c >= 0 && c < BoardUtils.NUM_TILES_PER_ROW) {
+                        final int target = r * BoardUtils.NUM_TILES_PER_ROW + c;
+                        masks[square][target] = ray;
+                        ray |= BoardUtils.squareMask(target);
+                        r += direction[0];
+                        c += direction[1];
+                    }
+                }
+            }
+        }
+        return masks;
+    }
+
+    private static long slidingAttacks(final int square,
+                                       final long occupancy,
+                                       final int[][] directions) {
+        long attacks = 0L;
+        final int row = BoardUtils.getRow(square);
+        final int column = BoardUtils.getColumn(square);
+        for(final int[] direction : directions) {
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while(r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW && c >= 0 && c < BoardUtils.NUM_TILES_PER_ROW) {
+                final long squareMask = BoardUtils.squareMask(r * BoardUtils.NUM_TILES_PER_ROW + c);
+                attacks |= squareMask;
+                if((occupancy & squareMask) != 0) {
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    //Squares whose occupancy can change the attack set; the last square of each ray never blocks anything
+    private static long relevantOccupancy(final int square,
+                                          final int[][] directions) {
+        long mask = 0L;
+        final int row = BoardUtils.getRow(square);
+        final int column = BoardUtils.getColumn(square);
+        for(final int[] direction : directions) {
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while(r + direction[0] >= 0 && r + direction[0] < BoardUtils.NUM_TILES_PER_ROW &&
+                  c + direction[1] >= 0 && c + direction[1] < BoardUtils.NUM_TILES_PER_ROW) {
+                mask |= BoardUtils.squareMask(r * BoardUtils.NUM_TILES_PER_ROW + c);
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static final class SliderTable {
+
+        private final long[] masks = new long[BoardUtils.NUM_TILES];
+        private final long[] magics = new long[BoardUtils.NUM_TILES];
+        private final int[] shifts = new int[BoardUtils.NUM_TILES];
+        private final long[][] attacks = new long[BoardUtils.NUM_TILES][];
+
+        SliderTable(final int[][] directions,
+                    final long[] magics) {
+            for(int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                initSquare(square, directions, magics[square]);
+            }
+        }
+
+        long attacks(final int square, final long occupancy) {
+            final long blockers = occupancy & this.masks[square];
+            return this.attacks[square][(int) ((blockers * this.magics[square]) >>> this.shifts[square])];
+        }
+
+        private void initSquare(final int square,
+                                final int[][] directions,
+                                final long magic) {
+            final long mask = relevantOccupancy(square, directions);
+            final int bits = Long.bitCount(mask);
+            final long[] table = new long[1 << bits];
+            final boolean[] filled = new boolean[table.length];
+            //Carry-rippler enumeration of every subset of the mask
+            long subset = 0L;
+            do {
+                final int index = (int) ((subset * magic) >>> (64 - bits));
+                final long reference = slidingAttacks(square, subset, directions);
+                if(filled[index] && table[index] != reference) {
+                    throw new RuntimeException("Bad magic for square " + square);
+                }
+                filled[index] = true;
+                table[index] = reference;
+                subset = (subset - mask) & mask;
+            } while(subset != 0);
+            this.masks[square] = mask;
+            this.magics[square] = magic;
+            this.shifts[square] = 64 - bits;
+            this.attacks[square] = table;
+        }
+    }
+}
@@ -65,6 +65,11 @@ public enum PieceColor {
         public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
             return whitePlayer;
         }
+
+        @Override
+        public PieceColor getOppositeColor() {
+            return BLACK;
+        }
     },
     BLACK {
         @Override
@@ -126,6 +131,11 @@ public enum PieceColor {
         public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
             return blackPlayer;
         }
+
+        @Override
+        public PieceColor getOppositeColor() {
+            return WHITE;
+        }
     };
 
     public abstract int getDirection();
@@ -140,6 +150,7 @@ public enum PieceColor {
     public abstract int kingBonus(int position);
     public abstract boolean isPawnPromotionSquare(int position);
     public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
+    public abstract PieceColor getOppositeColor();
 
     //Piece Square Tables
     private final static int[] WHITE_PAWN_PREFERRED_COORDINATES = {
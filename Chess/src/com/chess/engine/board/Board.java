@@ -1,9 +1,11 @@
 package com.chess.engine.board;
 
 import com.chess.engine.BoardUtils;
+import com.chess.engine.MagicBitBoards;
 import com.chess.engine.PieceColor;
 import com.chess.engine.pieces.*;
 import com.chess.engine.player.BlackPlayer;
+import com.chess.engine.player.GameState;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
 import com.google.common.collect.ImmutableList;
@@ -20,16 +22,25 @@ public final class Board {
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long zobristHash;
+
+    private static final int NUM_PIECE_TYPES = Piece.PieceType.values().length;
 
     private Board(Builder builder){
         this.gameBoard = createGameBoard(builder);
         this.whitePieces = calculateActivePieces(builder, PieceColor.WHITE);
         this.blackPieces = calculateActivePieces(builder, PieceColor.BLACK);
+        this.pieceBitBoards = calculatePieceBitBoards(builder);
+        this.whiteOccupancy = calculateOccupancy(this.pieceBitBoards, PieceColor.WHITE);
+        this.blackOccupancy = calculateOccupancy(this.pieceBitBoards, PieceColor.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
+        this.zobristHash = builder.zobristHash != null ? builder.zobristHash :
+                Zobrist.calculateHash(builder.boardConfig.values(), builder.nextMoveMaker, builder.enPassantPawn);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
     }
 
@@ -57,15 +68,115 @@ public final class Board {
         return this.currentPlayer;
     }
 
+    //Check, checkmate or stalemate of the side to move, computed on first use
+    public GameState getGameState(){
+        return this.currentPlayer.getGameState();
+    }
+
     public Pawn getEnPassantPawn(){
         return this.enPassantPawn;
     }
 
+    public long getZobristHash() {
+        return this.zobristHash;
+    }
+
     public Tile getTile(final int tilePosition)
     {
         return gameBoard.get(tilePosition);
     }
 
+    public long getPieceBitBoard(final PieceColor pieceColor,
+                                 final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[bitBoardIndex(pieceColor, pieceType)];
+    }
+
+    public long getOccupancy(final PieceColor pieceColor) {
+        return pieceColor.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public boolean isTileOccupied(final int tilePosition) {
+        return (getOccupancy() & BoardUtils.squareMask(tilePosition)) != 0;
+    }
+
+    //Pieces of both colors attacking the tile, found by looking back from it along every attack pattern
+    public long attackersTo(final int tilePosition) {
+        final long occupancy = getOccupancy();
+        final long bishopsAndQueens = getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.BISHOP) |
+                getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.BISHOP) |
+                getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.QUEEN) |
+                getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.QUEEN);
+        final long rooksAndQueens = getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.ROOK) |
+                getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.ROOK) |
+                getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.QUEEN) |
+                getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.QUEEN);
+        return (BoardUtils.BLACK_PAWN_ATTACK_MASKS[tilePosition] & getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.PAWN)) |
+               (BoardUtils.WHITE_PAWN_ATTACK_MASKS[tilePosition] & getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.PAWN)) |
+               (BoardUtils.KNIGHT_ATTACK_MASKS[tilePosition] & (getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.KNIGHT) |
+                       getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.KNIGHT))) |
+               (BoardUtils.KING_ATTACK_MASKS[tilePosition] & (getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.KING) |
+                       getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.KING))) |
+               (MagicBitBoards.bishopAttacks(tilePosition, occupancy) & bishopsAndQueens) |
+               (MagicBitBoards.rookAttacks(tilePosition, occupancy) & rooksAndQueens);
+    }
+
+    //Same test as attackersTo for one color, returning at the first attacker found
+    public boolean isSquareAttacked(final int tilePosition,
+                                    final PieceColor attackerColor) {
+        return isSquareAttacked(tilePosition, attackerColor, getOccupancy());
+    }
+
+    //Sliders look through the given occupancy, e.g. without a king that is about to step away from them
+    public boolean isSquareAttacked(final int tilePosition,
+                                    final PieceColor attackerColor,
+                                    final long occupancy) {
+        final long pawnAttacks = attackerColor.isWhite() ?
+                BoardUtils.BLACK_PAWN_ATTACK_MASKS[tilePosition] : BoardUtils.WHITE_PAWN_ATTACK_MASKS[tilePosition];
+        if((pawnAttacks & getPieceBitBoard(attackerColor, Piece.PieceType.PAWN)) != 0) {
+            return true;
+        }
+        if((BoardUtils.KNIGHT_ATTACK_MASKS[tilePosition] & getPieceBitBoard(attackerColor, Piece.PieceType.KNIGHT)) != 0) {
+            return true;
+        }
+        if((BoardUtils.KING_ATTACK_MASKS[tilePosition] & getPieceBitBoard(attackerColor, Piece.PieceType.KING)) != 0) {
+            return true;
+        }
+        final long queens = getPieceBitBoard(attackerColor, Piece.PieceType.QUEEN);
+        if((MagicBitBoards.bishopAttacks(tilePosition, occupancy) &
+                (getPieceBitBoard(attackerColor, Piece.PieceType.BISHOP) | queens)) != 0) {
+            return true;
+        }
+        return (MagicBitBoards.rookAttacks(tilePosition, occupancy) &
+                (getPieceBitBoard(attackerColor, Piece.PieceType.ROOK) | queens)) != 0;
+    }
+
+    private static int bitBoardIndex(final PieceColor pieceColor,
+                                     final Piece.PieceType pieceType) {
+        return pieceColor.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    private static long[] calculatePieceBitBoards(final Builder builder) {
+        final long[] bitBoards = new long[PieceColor.values().length * NUM_PIECE_TYPES];
+        for(final Piece piece : builder.boardConfig.values()) {
+            bitBoards[bitBoardIndex(piece.getPieceColor(), piece.getPieceType())] |=
+                    BoardUtils.squareMask(piece.getPiecePosition());
+        }
+        return bitBoards;
+    }
+
+    private static long calculateOccupancy(final long[] pieceBitBoards,
+                                           final PieceColor pieceColor) {
+        long occupancy = 0L;
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            occupancy |= pieceBitBoards[bitBoardIndex(pieceColor, pieceType)];
+        }
+        return occupancy;
+    }
+
     private static List<Tile> createGameBoard(final Builder builder) {
         final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
 
@@ -86,14 +197,6 @@ public final class Board {
         return ImmutableList.copyOf(activePieces);
     }
 
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for(final Piece piece : pieces){
-            legalMoves.addAll(piece.calculateLegalMoves(this));
-        }
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     Iterable<Move> getAllLegalMoves() {
         return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(),
                 this.blackPlayer.getLegalMoves()));
@@ -141,6 +244,35 @@ public final class Board {
         return builder.build();
     }
 
+    @Override
+    public int hashCode() {
+        return (int) (this.zobristHash ^ (this.zobristHash >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other)
+            return true;
+        if(!(other instanceof Board))
+            return false;
+        final Board otherBoard = (Board) other;
+        return this.zobristHash == otherBoard.zobristHash &&
+                Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards) &&
+                this.currentPlayer.getPieceColor() == otherBoard.currentPlayer.getPieceColor() &&
+                isSameCastleCapability(this.whitePlayer, otherBoard.whitePlayer) &&
+                isSameCastleCapability(this.blackPlayer, otherBoard.blackPlayer) &&
+                enPassantPosition(this) == enPassantPosition(otherBoard);
+    }
+
+    private static boolean isSameCastleCapability(final Player player, final Player otherPlayer) {
+        return player.isKingSideCastleCapable() == otherPlayer.isKingSideCastleCapable() &&
+                player.isQueenSideCastleCapable() == otherPlayer.isQueenSideCastleCapable();
+    }
+
+    private static int enPassantPosition(final Board board) {
+        return board.enPassantPawn == null ? -1 : board.enPassantPawn.getPiecePosition();
+    }
+
     @Override
     public String toString()
     {
@@ -157,8 +289,9 @@ public final class Board {
         Map<Integer, Piece> boardConfig;
         PieceColor nextMoveMaker;
         Pawn enPassantPawn;
+        Long zobristHash;
 
-        Builder(){
+        public Builder(){
             this.boardConfig = new HashMap<>();
         }
 
@@ -167,16 +300,23 @@ public final class Board {
             return this;
         }
 
-        Builder setMoveMaker(final PieceColor nextMoveMaker) {
+        public Builder setMoveMaker(final PieceColor nextMoveMaker) {
             this.nextMoveMaker = nextMoveMaker;
             return this;
         }
 
-        void setEnPassantPawn(Pawn enPassantPawn) {
+        public Builder setEnPassantPawn(final Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
+            return this;
+        }
+
+        //Moves pass the incrementally updated key; without one the Board hashes from scratch
+        Builder setZobristHash(final long zobristHash) {
+            this.zobristHash = zobristHash;
+            return this;
         }
 
-        Board build() {
+        public Board build() {
             return new Board(this);
         }
     }
@@ -91,11 +91,26 @@ public abstract class Move {
         for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
             builder.setPiece(piece);
         }
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece landedPiece = this.movedPiece.movePiece(this);
+        builder.setPiece(landedPiece);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getPieceColor());
+        builder.setZobristHash(calculateZobristHash(landedPiece));
         return builder.build();
     }
 
+    //Key of the board after this move: lift the mover, land it, drop any capture, flip side, clear en passant
+    long calculateZobristHash(final Piece landedPiece) {
+        long zobristHash = this.board.getZobristHash() ^
+                Zobrist.pieceKey(this.movedPiece) ^ Zobrist.castlingKey(this.movedPiece) ^
+                Zobrist.pieceKey(landedPiece) ^ Zobrist.castlingKey(landedPiece) ^
+                Zobrist.sideKey() ^
+                Zobrist.enPassantKey(this.board.getEnPassantPawn());
+        if(isAttack()) {
+            zobristHash ^= Zobrist.pieceKey(getAttackedPiece());
+        }
+        return zobristHash;
+    }
+
     public Board undo() {
         final Board.Builder builder = new Builder();
         for (final Piece piece : this.board.getAllPieces()) {
@@ -227,8 +242,12 @@ public abstract class Move {
                 builder.setPiece(piece);
             for(final Piece piece: pawnMovedBoard.currentPlayer().getOpponent().getActivePieces())
                 builder.setPiece(piece);
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setMoveMaker(this.promotedPawn.getPieceColor());
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
+            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getPieceColor());
+            builder.setZobristHash(pawnMovedBoard.getZobristHash() ^
+                    Zobrist.pieceKey(this.promotedPawn.movePiece(this)) ^
+                    Zobrist.pieceKey(promotionPiece));
             return builder.build();
         }
 
@@ -294,8 +313,10 @@ public abstract class Move {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece landedPiece = this.movedPiece.movePiece(this);
+            builder.setPiece(landedPiece);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getPieceColor());
+            builder.setZobristHash(calculateZobristHash(landedPiece));
             return builder.build();
         }
     }
@@ -326,6 +347,7 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getPieceColor());
+            builder.setZobristHash(calculateZobristHash(movedPawn) ^ Zobrist.enPassantKey(movedPawn));
             return builder.build();
         }
 
@@ -391,9 +413,14 @@ public abstract class Move {
             for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceColor(), this.castleRookDestination, false));
+            final Piece landedKing = this.movedPiece.movePiece(this);
+            final Rook landedRook = new Rook(this.castleRook.getPieceColor(), this.castleRookDestination, false);
+            builder.setPiece(landedKing);
+            builder.setPiece(landedRook);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getPieceColor());
+            builder.setZobristHash(calculateZobristHash(landedKing) ^
+                    Zobrist.pieceKey(this.castleRook) ^
+                    Zobrist.pieceKey(landedRook));
             return builder.build();
         }
     }
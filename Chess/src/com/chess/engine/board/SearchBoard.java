@@ -0,0 +1,626 @@
+package com.chess.engine.board;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.MagicBitBoards;
+import com.chess.engine.PieceColor;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Mutable position used inside the search. Moves are made and unmade in place
+ * against an undo stack, so walking the tree allocates nothing per node.
+ * The immutable Board remains the public model for the GUI and move history;
+ * a SearchBoard is created from it once per search.
+ *
+ * Moves are packed into an int: bits 0-5 source tile, bits 6-11 destination
+ * tile, bits 12-15 move flags. A promotion keeps its piece in the two low flag
+ * bits, so every move fits in 16 bits and can be stored in the transposition
+ * table. Board Moves are converted to and from this form only at the root.
+ */
+public final class SearchBoard {
+
+    public static final int MAX_MOVES = 256;
+    public static final int MAX_PLY = 256;
+    public static final int NO_MOVE = 0;
+
+    static final int EMPTY = -1;
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+    private static final int NUM_PIECE_TYPES = 6;
+    private static final int PAWN = Piece.PieceType.PAWN.ordinal();
+    private static final int KNIGHT = Piece.PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = Piece.PieceType.BISHOP.ordinal();
+    private static final int ROOK = Piece.PieceType.ROOK.ordinal();
+    private static final int QUEEN = Piece.PieceType.QUEEN.ordinal();
+    private static final int KING = Piece.PieceType.KING.ordinal();
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final PieceColor[] PIECE_COLORS = PieceColor.values();
+
+    private static final int QUIET = 0;
+    private static final int DOUBLE_PAWN_PUSH = 1;
+    private static final int KING_CASTLE = 2;
+    private static final int QUEEN_CASTLE = 3;
+    private static final int CAPTURE = 4;
+    private static final int EN_PASSANT = 5;
+    private static final int PROMOTION = 8;
+    private static final int QUEEN_PROMOTION = PROMOTION | 3;
+    private static final int[] PROMOTION_TYPES = {KNIGHT, BISHOP, ROOK, QUEEN};
+
+    static final int WHITE_KING_SIDE = 1;
+    static final int WHITE_QUEEN_SIDE = 2;
+    static final int BLACK_KING_SIDE = 4;
+    static final int BLACK_QUEEN_SIDE = 8;
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    private static final long[][] PAWN_ATTACK_MASKS = {
+            BoardUtils.WHITE_PAWN_ATTACK_MASKS,
+            BoardUtils.BLACK_PAWN_ATTACK_MASKS
+    };
+    private static final long[] PROMOTION_RANK = {BoardUtils.RANK_MASKS[0], BoardUtils.RANK_MASKS[7]};
+    private static final long[] PAWN_START_RANK = {BoardUtils.RANK_MASKS[6], BoardUtils.RANK_MASKS[1]};
+    private static final int[] PAWN_PUSH = {-BoardUtils.NUM_TILES_PER_ROW, BoardUtils.NUM_TILES_PER_ROW};
+
+    private final int[] squares = new int[BoardUtils.NUM_TILES];
+    private final long[] pieceBitBoards = new long[2 * NUM_PIECE_TYPES];
+    private final long[] occupancy = new long[2];
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristHash;
+
+    private final int[] moveStack = new int[MAX_PLY];
+    private final int[] capturedStack = new int[MAX_PLY];
+    private final int[] castlingStack = new int[MAX_PLY];
+    private final int[] enPassantStack = new int[MAX_PLY];
+    private final long[] hashStack = new long[MAX_PLY];
+    private int stackSize;
+    private final int[] scratchMoves = new int[MAX_MOVES];
+
+    public SearchBoard(final Board board) {
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            this.squares[i] = EMPTY;
+        }
+        for(final Piece piece : board.getAllPieces()) {
+            putPiece(piece.getPiecePosition(), pieceCode(piece.getPieceColor().ordinal(), piece.getPieceType().ordinal()));
+        }
+        this.sideToMove = board.currentPlayer().getPieceColor().ordinal();
+        this.castlingRights = calculateCastlingRights(board);
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn == null ? EMPTY : enPassantPawn.getPiecePosition() +
+                (BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceColor().getOppositeDirection());
+        this.zobristHash ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        if(this.sideToMove == BLACK) {
+            this.zobristHash ^= Zobrist.sideKey();
+        }
+        this.stackSize = 0;
+    }
+
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static boolean isCapture(final int move) {
+        return (flag(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (flag(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isQueenPromotion(final int move) {
+        return (flag(move) & ~CAPTURE) == QUEEN_PROMOTION;
+    }
+
+    //The piece a pawn promotes to, or null for any other move
+    public static Piece.PieceType getPromotionType(final int move) {
+        return isPromotion(move) ? PIECE_TYPES[PROMOTION_TYPES[flag(move) & 3]] : null;
+    }
+
+    private static int flag(final int move) {
+        return move >>> 12;
+    }
+
+    private static int createMove(final int from, final int to, final int flag) {
+        return from | (to << 6) | (flag << 12);
+    }
+
+    private static int pieceCode(final int color, final int type) {
+        return color * NUM_PIECE_TYPES + type;
+    }
+
+    private static int[] initCastlingRightsMask() {
+        final int[] mask = new int[BoardUtils.NUM_TILES];
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            mask[i] = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        }
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+
+    private static int calculateCastlingRights(final Board board) {
+        int rights = 0;
+        final King whiteKing = board.whitePlayer().getPlayerKing();
+        final King blackKing = board.blackPlayer().getPlayerKing();
+        if(whiteKing.isKingSideCastleCapable()) {
+            rights |= WHITE_KING_SIDE;
+        }
+        if(whiteKing.isQueenSideCastleCapable()) {
+            rights |= WHITE_QUEEN_SIDE;
+        }
+        if(blackKing.isKingSideCastleCapable()) {
+            rights |= BLACK_KING_SIDE;
+        }
+        if(blackKing.isQueenSideCastleCapable()) {
+            rights |= BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    public long getZobristHash() {
+        return this.zobristHash;
+    }
+
+    public PieceColor getSideToMove() {
+        return PIECE_COLORS[this.sideToMove];
+    }
+
+    public long getPieceBitBoard(final PieceColor pieceColor,
+                                 final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[pieceCode(pieceColor.ordinal(), pieceType.ordinal())];
+    }
+
+    public long getOccupancy(final PieceColor pieceColor) {
+        return this.occupancy[pieceColor.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy[WHITE] | this.occupancy[BLACK];
+    }
+
+    public Piece.PieceType getPieceType(final int square) {
+        final int piece = this.squares[square];
+        return piece == EMPTY ? null : PIECE_TYPES[piece % NUM_PIECE_TYPES];
+    }
+
+    public boolean isKingSideCastleCapable(final PieceColor pieceColor) {
+        return (this.castlingRights & (pieceColor.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE)) != 0;
+    }
+
+    public boolean isQueenSideCastleCapable(final PieceColor pieceColor) {
+        return (this.castlingRights & (pieceColor.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE)) != 0;
+    }
+
+    public int getKingSquare(final PieceColor pieceColor) {
+        return kingSquare(pieceColor.ordinal());
+    }
+
+    public boolean isInCheck(final PieceColor pieceColor) {
+        final int color = pieceColor.ordinal();
+        return isSquareAttacked(kingSquare(color), color ^ 1);
+    }
+
+    public boolean isInCheck() {
+        return isSquareAttacked(kingSquare(this.sideToMove), this.sideToMove ^ 1);
+    }
+
+    private int kingSquare(final int color) {
+        return Long.numberOfTrailingZeros(this.pieceBitBoards[pieceCode(color, KING)]);
+    }
+
+    private boolean isSquareAttacked(final int square, final int byColor) {
+        final int base = byColor * NUM_PIECE_TYPES;
+        final long occupied = this.occupancy[WHITE] | this.occupancy[BLACK];
+        if((PAWN_ATTACK_MASKS[byColor ^ 1][square] & this.pieceBitBoards[base + PAWN]) != 0) {
+            return true;
+        }
+        if((BoardUtils.KNIGHT_ATTACK_MASKS[square] & this.pieceBitBoards[base + KNIGHT]) != 0) {
+            return true;
+        }
+        if((BoardUtils.KING_ATTACK_MASKS[square] & this.pieceBitBoards[base + KING]) != 0) {
+            return true;
+        }
+        final long queens = this.pieceBitBoards[base + QUEEN];
+        if((MagicBitBoards.bishopAttacks(square, occupied) & (this.pieceBitBoards[base + BISHOP] | queens)) != 0) {
+            return true;
+        }
+        return (MagicBitBoards.rookAttacks(square, occupied) & (this.pieceBitBoards[base + ROOK] | queens)) != 0;
+    }
+
+    private void putPiece(final int square, final int piece) {
+        final long mask = BoardUtils.squareMask(square);
+        this.squares[square] = piece;
+        this.pieceBitBoards[piece] |= mask;
+        this.occupancy[piece / NUM_PIECE_TYPES] |= mask;
+        this.zobristHash ^= Zobrist.pieceKey(piece, square);
+    }
+
+    private void removePiece(final int square) {
+        final int piece = this.squares[square];
+        final long mask = BoardUtils.squareMask(square);
+        this.squares[square] = EMPTY;
+        this.pieceBitBoards[piece] &= ~mask;
+        this.occupancy[piece / NUM_PIECE_TYPES] &= ~mask;
+        this.zobristHash ^= Zobrist.pieceKey(piece, square);
+    }
+
+    private void movePiece(final int from, final int to) {
+        final int piece = this.squares[from];
+        final long fromTo = BoardUtils.squareMask(from) | BoardUtils.squareMask(to);
+        this.squares[from] = EMPTY;
+        this.squares[to] = piece;
+        this.pieceBitBoards[piece] ^= fromTo;
+        this.occupancy[piece / NUM_PIECE_TYPES] ^= fromTo;
+        this.zobristHash ^= Zobrist.pieceKey(piece, from) ^ Zobrist.pieceKey(piece, to);
+    }
+
+    //Makes the move and returns true, or restores the position and returns false if it leaves the mover in check
+    public boolean makeMove(final int move) {
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int flag = flag(move);
+        final int us = this.sideToMove;
+        int captured = EMPTY;
+
+        this.moveStack[this.stackSize] = move;
+        this.castlingStack[this.stackSize] = this.castlingRights;
+        this.enPassantStack[this.stackSize] = this.enPassantSquare;
+        this.hashStack[this.stackSize] = this.zobristHash;
+
+        if(flag == EN_PASSANT) {
+            final int capturedSquare = to - PAWN_PUSH[us];
+            captured = this.squares[capturedSquare];
+            removePiece(capturedSquare);
+        } else if((flag & CAPTURE) != 0) {
+            captured = this.squares[to];
+            removePiece(to);
+        }
+        this.capturedStack[this.stackSize] = captured;
+        this.stackSize++;
+
+        movePiece(from, to);
+        if((flag & PROMOTION) != 0) {
+            removePiece(to);
+            putPiece(to, pieceCode(us, PROMOTION_TYPES[flag & 3]));
+        } else if(flag == KING_CASTLE) {
+            movePiece(to + 1, to - 1);
+        } else if(flag == QUEEN_CASTLE) {
+            movePiece(to - 2, to + 1);
+        }
+
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights);
+        this.enPassantSquare = flag == DOUBLE_PAWN_PUSH ? (from + to) / 2 : EMPTY;
+        this.castlingRights &= CASTLING_RIGHTS_MASK[from] & CASTLING_RIGHTS_MASK[to];
+        this.sideToMove = us ^ 1;
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights) ^
+                Zobrist.sideKey();
+
+        if(isSquareAttacked(kingSquare(us), us ^ 1)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    public void unmakeMove() {
+        this.stackSize--;
+        final int move = this.moveStack[this.stackSize];
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int flag = flag(move);
+        this.sideToMove ^= 1;
+        final int us = this.sideToMove;
+
+        if((flag & PROMOTION) != 0) {
+            removePiece(to);
+            putPiece(to, pieceCode(us, PAWN));
+        } else if(flag == KING_CASTLE) {
+            movePiece(to - 1, to + 1);
+        } else if(flag == QUEEN_CASTLE) {
+            movePiece(to + 1, to - 2);
+        }
+        movePiece(to, from);
+
+        final int captured = this.capturedStack[this.stackSize];
+        if(flag == EN_PASSANT) {
+            putPiece(to - PAWN_PUSH[us], captured);
+        } else if(captured != EMPTY) {
+            putPiece(to, captured);
+        }
+        this.castlingRights = this.castlingStack[this.stackSize];
+        this.enPassantSquare = this.enPassantStack[this.stackSize];
+        this.zobristHash = this.hashStack[this.stackSize];
+    }
+
+    //Passes the turn for null-move pruning: only the side to move and the en passant square change.
+    //The search never passes in check, so the position stays legal.
+    public void makeNullMove() {
+        this.moveStack[this.stackSize] = NO_MOVE;
+        this.capturedStack[this.stackSize] = EMPTY;
+        this.castlingStack[this.stackSize] = this.castlingRights;
+        this.enPassantStack[this.stackSize] = this.enPassantSquare;
+        this.hashStack[this.stackSize] = this.zobristHash;
+        this.stackSize++;
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(EMPTY) ^ Zobrist.sideKey();
+        this.enPassantSquare = EMPTY;
+        this.sideToMove ^= 1;
+    }
+
+    public void unmakeNullMove() {
+        this.stackSize--;
+        this.sideToMove ^= 1;
+        this.enPassantSquare = this.enPassantStack[this.stackSize];
+        this.zobristHash = this.hashStack[this.stackSize];
+    }
+
+    //The move that led to this position, NO_MOVE at the start of the search or after a null move
+    public int getLastMove() {
+        return this.stackSize > 0 ? this.moveStack[this.stackSize - 1] : NO_MOVE;
+    }
+
+    public boolean isAfterNullMove() {
+        return this.stackSize > 0 && this.moveStack[this.stackSize - 1] == NO_MOVE;
+    }
+
+    //Whether the side has anything besides king and pawns, the positions where passing is rarely the best move
+    public boolean hasNonPawnMaterial(final PieceColor pieceColor) {
+        final int base = pieceColor.ordinal() * NUM_PIECE_TYPES;
+        return (this.pieceBitBoards[base + KNIGHT] | this.pieceBitBoards[base + BISHOP] |
+                this.pieceBitBoards[base + ROOK] | this.pieceBitBoards[base + QUEEN]) != 0;
+    }
+
+    //Pseudo-legal moves for the side to move; makeMove rejects the ones that leave the king in check
+    public int generateMoves(final int[] moves) {
+        final int us = this.sideToMove;
+        final int them = us ^ 1;
+        final long own = this.occupancy[us];
+        final long enemy = this.occupancy[them];
+        final long occupied = own | enemy;
+        int count = 0;
+
+        long pieces = own;
+        while(pieces != 0) {
+            final int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            final int type = this.squares[from] % NUM_PIECE_TYPES;
+            if(type == PAWN) {
+                count = generatePawnMoves(from, us, enemy, occupied, moves, count);
+            } else {
+                long targets = attacks(type, from, us, occupied) & ~own;
+                while(targets != 0) {
+                    final int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    moves[count++] = createMove(from, to, (enemy & BoardUtils.squareMask(to)) != 0 ? CAPTURE : QUIET);
+                }
+            }
+        }
+        return generateCastles(us, occupied, moves, count);
+    }
+
+    //Captures, en passant and queen promotions only, for the quiescence search at the horizon
+    public int generateCaptures(final int[] moves) {
+        final int us = this.sideToMove;
+        final long own = this.occupancy[us];
+        final long enemy = this.occupancy[us ^ 1];
+        final long occupied = own | enemy;
+        int count = 0;
+
+        long pieces = own;
+        while(pieces != 0) {
+            final int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            final int type = this.squares[from] % NUM_PIECE_TYPES;
+            if(type == PAWN) {
+                final int push = from + PAWN_PUSH[us];
+                if((PROMOTION_RANK[us] & BoardUtils.squareMask(push)) != 0 && (occupied & BoardUtils.squareMask(push)) == 0) {
+                    moves[count++] = createMove(from, push, QUEEN_PROMOTION);
+                }
+                count = generatePawnCaptures(from, us, enemy, false, moves, count);
+            } else {
+                long targets = attacks(type, from, us, occupied) & enemy;
+                while(targets != 0) {
+                    final int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    moves[count++] = createMove(from, to, CAPTURE);
+                }
+            }
+        }
+        return count;
+    }
+
+    private int generatePawnMoves(final int from,
+                                  final int us,
+                                  final long enemy,
+                                  final long occupied,
+                                  final int[] moves,
+                                  int count) {
+        final int push = from + PAWN_PUSH[us];
+        final long fromMask = BoardUtils.squareMask(from);
+        if((occupied & BoardUtils.squareMask(push)) == 0) {
+            if((PROMOTION_RANK[us] & BoardUtils.squareMask(push)) != 0) {
+                count = addPromotions(from, push, QUIET, true, moves, count);
+            } else {
+                moves[count++] = createMove(from, push, QUIET);
+                final int jump = push + PAWN_PUSH[us];
+                if((PAWN_START_RANK[us] & fromMask) != 0 && (occupied & BoardUtils.squareMask(jump)) == 0) {
+                    moves[count++] = createMove(from, jump, DOUBLE_PAWN_PUSH);
+                }
+            }
+        }
+        return generatePawnCaptures(from, us, enemy, true, moves, count);
+    }
+
+    private int generatePawnCaptures(final int from,
+                                     final int us,
+                                     final long enemy,
+                                     final boolean underPromotions,
+                                     final int[] moves,
+                                     int count) {
+        long captures = PAWN_ATTACK_MASKS[us][from] & enemy;
+        while(captures != 0) {
+            final int to = Long.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            if((PROMOTION_RANK[us] & BoardUtils.squareMask(to)) != 0) {
+                count = addPromotions(from, to, CAPTURE, underPromotions, moves, count);
+            } else {
+                moves[count++] = createMove(from, to, CAPTURE);
+            }
+        }
+        if(this.enPassantSquare != EMPTY &&
+                (PAWN_ATTACK_MASKS[us][from] & BoardUtils.squareMask(this.enPassantSquare)) != 0) {
+            moves[count++] = createMove(from, this.enPassantSquare, EN_PASSANT);
+        }
+        return count;
+    }
+
+    //The queen comes first, so findMove resolves a Board promotion to it
+    private static int addPromotions(final int from,
+                                     final int to,
+                                     final int captureFlag,
+                                     final boolean underPromotions,
+                                     final int[] moves,
+                                     int count) {
+        moves[count++] = createMove(from, to, QUEEN_PROMOTION | captureFlag);
+        if(underPromotions) {
+            for(int promotion = 0; promotion < 3; promotion++) {
+                moves[count++] = createMove(from, to, PROMOTION | captureFlag | promotion);
+            }
+        }
+        return count;
+    }
+
+    private int generateCastles(final int us,
+                                final long occupied,
+                                final int[] moves,
+                                int count) {
+        final int kingSquare = us == WHITE ? 60 : 4;
+        if(canCastleKingSide(us, occupied)) {
+            moves[count++] = createMove(kingSquare, kingSquare + 2, KING_CASTLE);
+        }
+        if(canCastleQueenSide(us, occupied)) {
+            moves[count++] = createMove(kingSquare, kingSquare - 2, QUEEN_CASTLE);
+        }
+        return count;
+    }
+
+    private boolean canCastleKingSide(final int us,
+                                      final long occupied) {
+        final int kingSquare = us == WHITE ? 60 : 4;
+        return (this.castlingRights & (us == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE)) != 0 &&
+                this.squares[kingSquare] == pieceCode(us, KING) &&
+                this.squares[kingSquare + 3] == pieceCode(us, ROOK) &&
+                (occupied & (BoardUtils.squareMask(kingSquare + 1) | BoardUtils.squareMask(kingSquare + 2))) == 0 &&
+                !isSquareAttacked(kingSquare, us ^ 1) &&
+                !isSquareAttacked(kingSquare + 1, us ^ 1) &&
+                !isSquareAttacked(kingSquare + 2, us ^ 1);
+    }
+
+    private boolean canCastleQueenSide(final int us,
+                                       final long occupied) {
+        final int kingSquare = us == WHITE ? 60 : 4;
+        return (this.castlingRights & (us == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE)) != 0 &&
+                this.squares[kingSquare] == pieceCode(us, KING) &&
+                this.squares[kingSquare - 4] == pieceCode(us, ROOK) &&
+                (occupied & (BoardUtils.squareMask(kingSquare - 1) | BoardUtils.squareMask(kingSquare - 2) |
+                        BoardUtils.squareMask(kingSquare - 3))) == 0 &&
+                !isSquareAttacked(kingSquare, us ^ 1) &&
+                !isSquareAttacked(kingSquare - 1, us ^ 1) &&
+                !isSquareAttacked(kingSquare - 2, us ^ 1);
+    }
+
+    private static long attacks(final int type,
+                                final int square,
+                                final int color,
+                                final long occupied) {
+        if(type == KNIGHT) {
+            return BoardUtils.KNIGHT_ATTACK_MASKS[square];
+        } else if(type == BISHOP) {
+            return MagicBitBoards.bishopAttacks(square, occupied);
+        } else if(type == ROOK) {
+            return MagicBitBoards.rookAttacks(square, occupied);
+        } else if(type == QUEEN) {
+            return MagicBitBoards.queenAttacks(square, occupied);
+        } else if(type == KING) {
+            return BoardUtils.KING_ATTACK_MASKS[square];
+        }
+        return PAWN_ATTACK_MASKS[color][square];
+    }
+
+    //Destination tiles of the piece on the square, for either side, without castles or legality checks
+    public long getMoveTargets(final int square) {
+        final int piece = this.squares[square];
+        final int color = piece / NUM_PIECE_TYPES;
+        final int type = piece % NUM_PIECE_TYPES;
+        final long occupied = getOccupancy();
+        if(type != PAWN) {
+            return attacks(type, square, color, occupied) & ~this.occupancy[color];
+        }
+        long targets = PAWN_ATTACK_MASKS[color][square] & this.occupancy[color ^ 1];
+        if(this.enPassantSquare != EMPTY && color == this.sideToMove) {
+            targets |= PAWN_ATTACK_MASKS[color][square] & BoardUtils.squareMask(this.enPassantSquare);
+        }
+        final long push = BoardUtils.squareMask(square + PAWN_PUSH[color]);
+        if((occupied & push) == 0) {
+            targets |= push;
+            final long jump = BoardUtils.squareMask(square + 2 * PAWN_PUSH[color]);
+            if((PAWN_START_RANK[color] & BoardUtils.squareMask(square)) != 0 && (occupied & jump) == 0) {
+                targets |= jump;
+            }
+        }
+        return targets;
+    }
+
+    //Number of pseudo-legal moves the given side has, counting each castle once
+    public int countMoves(final PieceColor pieceColor) {
+        final int color = pieceColor.ordinal();
+        int count = 0;
+        long pieces = this.occupancy[color];
+        while(pieces != 0) {
+            final int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            count += Long.bitCount(getMoveTargets(square));
+        }
+        if(canCastleKingSide(color, getOccupancy())) {
+            count++;
+        }
+        if(canCastleQueenSide(color, getOccupancy())) {
+            count++;
+        }
+        return count;
+    }
+
+    public boolean hasLegalMoves() {
+        final int[] moves = this.scratchMoves;
+        final int count = generateMoves(moves);
+        for(int i = 0; i < count; i++) {
+            if(makeMove(moves[i])) {
+                unmakeMove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Finds the pseudo-legal move joining the two tiles, or NO_MOVE; a promotion is the one to a queen,
+    //the only promotion a Board Move makes
+    public int findMove(final int from, final int to) {
+        final int[] moves = this.scratchMoves;
+        final int count = generateMoves(moves);
+        for(int i = 0; i < count; i++) {
+            if(getFrom(moves[i]) == from && getTo(moves[i]) == to) {
+                return moves[i];
+            }
+        }
+        return NO_MOVE;
+    }
+}
@@ -0,0 +1,107 @@
+package com.chess.engine.board;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.PieceColor;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Collection;
+import java.util.Random;
+
+/*
+ * 64-bit Zobrist keys shared by Board and SearchBoard. A position key is the
+ * xor of one random number per piece on its tile, one for black to move, one
+ * per castle right still held and one for the file of the en passant pawn.
+ * Moves update the key by xoring out what left and xoring in what arrived.
+ */
+final class Zobrist {
+
+    private static final int NUM_PIECE_CODES = 12;
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[][] PIECE_KEYS = new long[NUM_PIECE_CODES][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long SIDE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for(int piece = 0; piece < NUM_PIECE_CODES; piece++) {
+            for(int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                PIECE_KEYS[piece][square] = random.nextLong();
+            }
+        }
+        final long[] rightKeys = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for(int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+            for(int bit = 0; bit < rightKeys.length; bit++) {
+                if((rights & (1 << bit)) != 0) {
+                    CASTLING_KEYS[rights] ^= rightKeys[bit];
+                }
+            }
+        }
+        for(int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    static long pieceKey(final int pieceCode, final int square) {
+        return PIECE_KEYS[pieceCode][square];
+    }
+
+    static long pieceKey(final Piece piece) {
+        return PIECE_KEYS[piece.getPieceColor().ordinal() * Piece.PieceType.values().length +
+                piece.getPieceType().ordinal()][piece.getPiecePosition()];
+    }
+
+    static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    //Castle rights live on the King, so any other piece contributes nothing
+    static long castlingKey(final Piece piece) {
+        if(!piece.getPieceType().isKing()) {
+            return 0L;
+        }
+        final King king = (King) piece;
+        final boolean isWhite = king.getPieceColor().isWhite();
+        int rights = 0;
+        if(king.isKingSideCastleCapable()) {
+            rights |= isWhite ? SearchBoard.WHITE_KING_SIDE : SearchBoard.BLACK_KING_SIDE;
+        }
+        if(king.isQueenSideCastleCapable()) {
+            rights |= isWhite ? SearchBoard.WHITE_QUEEN_SIDE : SearchBoard.BLACK_QUEEN_SIDE;
+        }
+        return CASTLING_KEYS[rights];
+    }
+
+    static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == SearchBoard.EMPTY ? 0L : EN_PASSANT_KEYS[BoardUtils.getColumn(enPassantSquare)];
+    }
+
+    static long enPassantKey(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[BoardUtils.getColumn(enPassantPawn.getPiecePosition())];
+    }
+
+    static long sideKey() {
+        return SIDE_KEY;
+    }
+
+    static long calculateHash(final Collection<Piece> pieces,
+                              final PieceColor nextMoveMaker,
+                              final Pawn enPassantPawn) {
+        long hash = 0L;
+        for(final Piece piece : pieces) {
+            hash ^= pieceKey(piece) ^ castlingKey(piece);
+        }
+        if(nextMoveMaker.isBlack()) {
+            hash ^= SIDE_KEY;
+        }
+        return hash ^ enPassantKey(enPassantPawn);
+    }
+}
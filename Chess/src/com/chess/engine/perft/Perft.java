@@ -0,0 +1,182 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/*
+ * Counts the leaf nodes of the legal move tree to a fixed depth, going through
+ * Player.makeMove exactly like the game does. Comparing the counts with the
+ * published numbers of the PerftPosition suite verifies move generation, and
+ * nodes per second measures its speed.
+ */
+public final class Perft {
+
+    private static final int MIN_CACHED_DEPTH = 2;
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final long DEPTH_SALT = 0x9E3779B97F4A7C15L;
+
+    private final long[] cacheKeys;
+    private final long[] cacheCounts;
+    private final int parallelism;
+
+    public Perft() {
+        this(0, 1);
+    }
+
+    //A cache of 0 MB disables it; more than one thread searches the root moves on a ForkJoinPool
+    public Perft(final int cacheSizeMB,
+                 final int parallelism) {
+        if(parallelism < 1) {
+            throw new RuntimeException("Perft needs at least one thread, got " + parallelism);
+        }
+        final int numEntries = cacheSizeMB <= 0 ? 0 :
+                (int) Long.highestOneBit(Math.min((long) cacheSizeMB * 1024 * 1024 / BYTES_PER_ENTRY, 1 << 30));
+        this.cacheKeys = new long[numEntries];
+        this.cacheCounts = new long[numEntries];
+        this.parallelism = parallelism;
+    }
+
+    public long count(final Board board,
+                      final int depth) {
+        if(depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for(final long childNodes : countRootMoves(board, depth, calculateLegalRootMoves(board))) {
+            nodes += childNodes;
+        }
+        return nodes;
+    }
+
+    //Prints the leaf count below every root move, e.g. "e2e4: 600", so a wrong total can be narrowed down
+    public long divide(final Board board,
+                       final int depth,
+                       final PrintStream out) {
+        final List<Move> rootMoves = calculateLegalRootMoves(board);
+        final long[] rootCounts = countRootMoves(board, depth, rootMoves);
+        long nodes = 0;
+        for(int i = 0; i < rootMoves.size(); i++) {
+            out.println(moveText(rootMoves.get(i)) + ": " + rootCounts[i]);
+            nodes += rootCounts[i];
+        }
+        out.println();
+        out.println("Moves: " + rootMoves.size());
+        out.println("Nodes: " + nodes);
+        return nodes;
+    }
+
+    private static List<Move> calculateLegalRootMoves(final Board board) {
+        final List<Move> rootMoves = new ArrayList<>();
+        for(final Move move : board.currentPlayer().getLegalMoves()) {
+            if(board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                rootMoves.add(move);
+            }
+        }
+        return rootMoves;
+    }
+
+    private long[] countRootMoves(final Board board,
+                                  final int depth,
+                                  final List<Move> rootMoves) {
+        final long[] rootCounts = new long[rootMoves.size()];
+        if(this.parallelism == 1) {
+            for(int i = 0; i < rootCounts.length; i++) {
+                rootCounts[i] = countNodes(executeMove(board, rootMoves.get(i)), depth - 1);
+            }
+            return rootCounts;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            final List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+            for(final Move move : rootMoves) {
+                tasks.add(pool.submit(() -> countNodes(executeMove(board, move), depth - 1)));
+            }
+            for(int i = 0; i < rootCounts.length; i++) {
+                rootCounts[i] = tasks.get(i).join();
+            }
+            return rootCounts;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long countNodes(final Board board,
+                            final int depth) {
+        if(depth == 0) {
+            return 1;
+        }
+        final long cacheKey = board.getZobristHash() ^ (depth * DEPTH_SALT);
+        if(depth >= MIN_CACHED_DEPTH && this.cacheKeys.length > 0) {
+            final int index = (int) cacheKey & (this.cacheKeys.length - 1);
+            final long cachedCount = this.cacheCounts[index];
+            if((this.cacheKeys[index] ^ cachedCount) == cacheKey) {
+                return cachedCount;
+            }
+        }
+        //The generated moves are all legal, so the last ply is counted without making them
+        if(depth == 1) {
+            return board.currentPlayer().getLegalMoves().size();
+        }
+        long nodes = 0;
+        for(final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()) {
+                nodes += countNodes(transition.getToBoard(), depth - 1);
+            }
+        }
+        //Key and count are stored xored, so a slot torn by two threads reads as a miss
+        if(depth >= MIN_CACHED_DEPTH && this.cacheKeys.length > 0) {
+            final int index = (int) cacheKey & (this.cacheKeys.length - 1);
+            this.cacheKeys[index] = cacheKey ^ nodes;
+            this.cacheCounts[index] = nodes;
+        }
+        return nodes;
+    }
+
+    private static Board executeMove(final Board board,
+                                     final Move move) {
+        return board.currentPlayer().makeMove(move).getToBoard();
+    }
+
+    private static String moveText(final Move move) {
+        return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+               BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate());
+    }
+
+    //Runs the reference suite: java com.chess.engine.perft.Perft [maxDepth] [cacheSizeMB] [threads]
+    public static void main(final String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        final int cacheSizeMB = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        final int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        final Perft perft = new Perft(cacheSizeMB, threads);
+        long totalNodes = 0;
+        long totalTime = 0;
+        int failures = 0;
+        for(final PerftPosition position : PerftPosition.values()) {
+            final Board board = position.createBoard();
+            for(int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                final long startTime = System.currentTimeMillis();
+                final long nodes = perft.count(board, depth);
+                final long elapsed = System.currentTimeMillis() - startTime;
+                final long expected = position.getExpectedNodes(depth);
+                totalNodes += nodes;
+                totalTime += elapsed;
+                if(nodes != expected) {
+                    failures++;
+                }
+                System.out.println(String.format("%-15s depth %d: %10d %s %10d  %6d ms", position, depth, nodes,
+                        nodes == expected ? "==" : "!=", expected, elapsed));
+            }
+        }
+        System.out.println("Nodes: " + totalNodes + ", time: " + totalTime + " ms, nodes/second: " +
+                (totalNodes * 1000 / Math.max(1, totalTime)) + ", mismatches: " + failures);
+    }
+}
@@ -13,7 +13,6 @@ import java.util.Collection;
 import java.util.List;
 
 public class King extends Piece {
-    private final static int[] MOVE_OFFSETS= { -1, -7, -8, -9, 9, 8, 7, 1};
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -54,38 +53,24 @@ public class King extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
+    public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentOffset : MOVE_OFFSETS) {
-            if (isFirstColumnExclusion(this.piecePosition, currentOffset) ||
-                    isEighthColumnExclusion(this.piecePosition, currentOffset)) {
-                continue;
-            }
-            int destinationPosition = piecePosition + currentOffset;
-            if (BoardUtils.validDestinationPosition(destinationPosition)) {
-                final Tile destinationTile = board.getTile(destinationPosition);
-                if (!destinationTile.isTileOccupied()) {
-                    legalMoves.add(new MajorMove(board, this, destinationPosition));
-                } else {
-                    final Piece destinationPiece = destinationTile.getPiece();
-                    final PieceColor destinationPieceColor = destinationPiece.getPieceColor();
+        for(final int destinationPosition : BoardUtils.KING_TARGETS[this.piecePosition]){
+            final Tile destinationTile = board.getTile(destinationPosition);
+            if (!destinationTile.isTileOccupied()) {
+                legalMoves.add(new MajorMove(board, this, destinationPosition));
+            } else {
+                final Piece destinationPiece = destinationTile.getPiece();
+                final PieceColor destinationPieceColor = destinationPiece.getPieceColor();
 
-                    if (destinationPieceColor != this.pieceColor) {
-                        legalMoves.add(new MajorAttackMove(board, this, destinationPosition, destinationPiece));
-                    }
+                if (destinationPieceColor != this.pieceColor) {
+                    legalMoves.add(new MajorAttackMove(board, this, destinationPosition, destinationPiece));
                 }
             }
         }
         return ImmutableList.copyOf(legalMoves);
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int currentOffset){
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (currentOffset == -1 || currentOffset == -9 || currentOffset == 7);
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int currentOffset){
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (currentOffset == 1 || currentOffset == 9 || currentOffset == -7);
-    }
     @Override
     public String toString(){
         return this.pieceType.toString();
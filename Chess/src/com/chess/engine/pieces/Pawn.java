@@ -12,8 +12,6 @@ import java.util.Collection;
 import java.util.List;
 
 public final class Pawn extends Piece {
-    private final static int[] MOVE_OFFSETS = {7, 8, 9, 16};
-
     public Pawn(final PieceColor pieceColor, final int piecePosition) {
         super(PieceType.PAWN,piecePosition, pieceColor,true);
     }
@@ -21,63 +19,40 @@ public final class Pawn extends Piece {
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentOffset : MOVE_OFFSETS) {
-            int destinationPosition = this.piecePosition + (this.pieceColor.getDirection() * currentOffset);
-            if(!BoardUtils.validDestinationPosition(destinationPosition)){
-                continue;
-            }
-            if(currentOffset == 8 && !board.getTile(destinationPosition).isTileOccupied()) {
-                if(this.pieceColor.isPawnPromotionSquare(destinationPosition)){
-                    legalMoves.add(new PawnPromotion(new PawnMove(board, this, destinationPosition)));
-                } else {
-                    legalMoves.add(new PawnMove(board, this, destinationPosition));
-                }
+        final int destinationPosition = this.piecePosition + (this.pieceColor.getDirection() * 8);
+        if(BoardUtils.validDestinationPosition(destinationPosition) &&
+                !board.getTile(destinationPosition).isTileOccupied()) {
+            if(this.pieceColor.isPawnPromotionSquare(destinationPosition)){
+                legalMoves.add(new PawnPromotion(new PawnMove(board, this, destinationPosition)));
+            } else {
+                legalMoves.add(new PawnMove(board, this, destinationPosition));
             }
-            else if(currentOffset == 16 && isFirstMove &&
+            final int jumpDestinationPosition = destinationPosition + (this.pieceColor.getDirection() * 8);
+            if(isFirstMove &&
                     ((BoardUtils.SEVENTH_RANK[piecePosition] && this.getPieceColor().isBlack()) ||
-                    (BoardUtils.SECOND_RANK[piecePosition] && this.getPieceColor().isWhite()))){
-                final int behindDestinationPosition = destinationPosition - (this.pieceColor.getDirection() * 8);
-                if(!board.getTile(destinationPosition).isTileOccupied() &&
-                        !board.getTile(behindDestinationPosition).isTileOccupied())
-                    legalMoves.add(new PawnJump(board, this, destinationPosition));
+                    (BoardUtils.SECOND_RANK[piecePosition] && this.getPieceColor().isWhite())) &&
+                    !board.getTile(jumpDestinationPosition).isTileOccupied()) {
+                legalMoves.add(new PawnJump(board, this, jumpDestinationPosition));
             }
-            else if (currentOffset == 7 &&
-                    (!(BoardUtils.FIRST_COLUMN[piecePosition] && this.pieceColor.isBlack())) &&
-                    (!(BoardUtils.EIGHTH_COLUMN[piecePosition] && this.pieceColor.isWhite()))){
-                if(board.getTile(destinationPosition).isTileOccupied()){
-                    final Piece destinationPiece = board.getTile(destinationPosition).getPiece();
-                    if(this.pieceColor != destinationPiece.getPieceColor()){
-                        if(this.pieceColor.isPawnPromotionSquare(destinationPosition)){
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, destinationPosition, destinationPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, destinationPosition, destinationPiece));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition + (this.pieceColor.getOppositeDirection()))) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceColor != pieceOnCandidate.getPieceColor())
-                        legalMoves.add(new PawnEnPassantAttackMove(board, this, destinationPosition, pieceOnCandidate));
-                }
-            }
-            else if (currentOffset == 9 &&
-                    (!(BoardUtils.FIRST_COLUMN[piecePosition] && this.pieceColor.isWhite())) &&
-                    (!(BoardUtils.EIGHTH_COLUMN[piecePosition] && this.pieceColor.isBlack()))){
-                if(board.getTile(destinationPosition).isTileOccupied()){
-                    final Piece destinationPiece = board.getTile(destinationPosition).getPiece();
-                    if(this.pieceColor != destinationPiece.getPieceColor()){
-                        if(this.pieceColor.isPawnPromotionSquare(destinationPosition)){
-                            legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, destinationPosition, destinationPiece)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, destinationPosition, destinationPiece));
-                        }
+        }
+        final int[] attackPositions = this.pieceColor.isWhite() ?
+                BoardUtils.WHITE_PAWN_ATTACK_TARGETS[this.piecePosition] :
+                BoardUtils.BLACK_PAWN_ATTACK_TARGETS[this.piecePosition];
+        for (final int attackPosition : attackPositions) {
+            if(board.getTile(attackPosition).isTileOccupied()){
+                final Piece destinationPiece = board.getTile(attackPosition).getPiece();
+                if(this.pieceColor != destinationPiece.getPieceColor()){
+                    if(this.pieceColor.isPawnPromotionSquare(attackPosition)){
+                        legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, attackPosition, destinationPiece)));
+                    } else {
+                        legalMoves.add(new PawnAttackMove(board, this, attackPosition, destinationPiece));
                     }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                            (this.piecePosition - (this.pieceColor.getOppositeDirection()))) {
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceColor != pieceOnCandidate.getPieceColor())
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, destinationPosition, pieceOnCandidate));
                 }
+            } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
+                    attackPosition + (this.pieceColor.getOppositeDirection() * 8)) {
+                final Piece pieceOnCandidate = board.getEnPassantPawn();
+                if (this.pieceColor != pieceOnCandidate.getPieceColor())
+                    legalMoves.add(new PawnEnPassantAttackMove(board, this, attackPosition, pieceOnCandidate));
             }
         }
         return ImmutableList.copyOf(legalMoves);
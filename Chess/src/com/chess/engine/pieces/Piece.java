@@ -3,6 +3,10 @@ package com.chess.engine.pieces;
 import com.chess.engine.PieceColor;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MajorAttackMove;
+import com.chess.engine.board.Move.MajorMove;
+import com.chess.engine.board.Tile;
+import com.google.common.collect.ImmutableList;
 
 import java.util.*;
 
@@ -73,6 +77,24 @@ public abstract class Piece {
         return result;
     }
 
+    //Turns a target mask into quiet moves and captures, skipping squares held by our own pieces
+    Collection<Move> calculateMovesToTargets(final Board board,
+                                             final long targets) {
+        final List<Move> legalMoves = new ArrayList<>();
+        long remainingTargets = targets & ~board.getOccupancy(this.pieceColor);
+        while (remainingTargets != 0) {
+            final int destinationPosition = Long.numberOfTrailingZeros(remainingTargets);
+            final Tile destinationTile = board.getTile(destinationPosition);
+            if (!destinationTile.isTileOccupied()) {
+                legalMoves.add(new MajorMove(board, this, destinationPosition));
+            } else {
+                legalMoves.add(new MajorAttackMove(board, this, destinationPosition, destinationTile.getPiece()));
+            }
+            remainingTargets &= remainingTargets - 1;
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     public abstract Collection<Move> calculateLegalMoves(final Board board);
     public abstract Piece movePiece(Move move);
     public abstract int locationBonus();
@@ -14,8 +14,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class BlackPlayer extends Player{
-    public BlackPlayer(Board board, Collection<Move> whitesLegals, Collection<Move> blacksLegals) {
-        super(board, blacksLegals, whitesLegals);
+    public BlackPlayer(Board board) {
+        super(board);
     }
 
     @Override
@@ -34,23 +34,23 @@ public class BlackPlayer extends Player{
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
             //Blacks short castle - kingside
             if(!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(7);
-                if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()){
-                        kingCastles.add(new KingSideCastleMove(this.board,
-                                this.playerKing,
-                                6,
-                                (Rook)rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
-                                5));
-                    }
+                if(rookTile.isTileOccupied() &&
+                        rookTile.getPiece().getPieceType().isRook() &&
+                        rookTile.getPiece().isFirstMove() &&
+                        isTileSafe(5) &&
+                        isTileSafe(6)){
+                    kingCastles.add(new KingSideCastleMove(this.board,
+                            this.playerKing,
+                            6,
+                            (Rook)rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            5));
                 }
             }
             //Blacks Long castle -queenside
@@ -58,18 +58,20 @@ public class BlackPlayer extends Player{
                     !this.board.getTile(2).isTileOccupied() &&
                     !this.board.getTile(3).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(0);
-                if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()){
-                        kingCastles.add(new QueenSideCastleMove(this.board,
-                                this.playerKing,
-                                2,
-                                (Rook)rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
-                                3));
-                    }
+                if(rookTile.isTileOccupied() &&
+                        rookTile.getPiece().getPieceType().isRook() &&
+                        rookTile.getPiece().isFirstMove() &&
+                        isTileSafe(2) &&
+                        isTileSafe(3)){
+                    kingCastles.add(new QueenSideCastleMove(this.board,
+                            this.playerKing,
+                            2,
+                            (Rook)rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            3));
                 }
+            }
+        }
         return kingCastles;
     }
 
@@ -1,31 +1,33 @@
 package com.chess.engine.player;
 
+import com.chess.engine.BoardUtils;
+import com.chess.engine.MagicBitBoards;
 import com.chess.engine.PieceColor;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
 public abstract class Player {
     protected final Board board;
     final King playerKing;
-    private final Collection<Move> legalMoves;
     private final boolean isInCheck;
+    private volatile Collection<Move> legalMoves;
+    private volatile GameState gameState;
 
-    public Player(Board board,
-                  Collection<Move> playerMoves,
-                  Collection<Move> opponentMoves){
+    //Moves are generated on first use; a search only ever asks for the side to move.
+    //Boards are shared between threads, at worst two of them compute the same list.
+    public Player(Board board){
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(
-                Iterables.concat(playerMoves, calculateKingCastles(opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
+        this.isInCheck = board.isSquareAttacked(this.playerKing.getPiecePosition(),
+                getPieceColor().getOppositeColor());
     }
 
     public King getPlayerKing() {
@@ -41,11 +43,87 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> moves = this.legalMoves;
+        if(moves == null) {
+            moves = ImmutableList.copyOf(calculateLegalMoves(Integer.MAX_VALUE));
+            this.legalMoves = moves;
+        }
+        return moves;
+    }
+
+    //Only legal moves are generated, no board is built to test them: in double check only the king moves,
+    //in single check every other move must capture or block the checker, and a pinned piece stays on its pin line.
+    //Generation stops once maxMoves are found, the king's moves first as they are the likeliest escape.
+    private List<Move> calculateLegalMoves(final int maxMoves) {
+        final int kingPosition = this.playerKing.getPiecePosition();
+        final PieceColor opponentColor = getPieceColor().getOppositeColor();
+        final long checkers = this.board.attackersTo(kingPosition) & this.board.getOccupancy(opponentColor);
+        final long occupancyWithoutKing = this.board.getOccupancy() & ~BoardUtils.squareMask(kingPosition);
+        final List<Move> calculatedMoves = new ArrayList<>();
+        for(final Move move : this.playerKing.calculateLegalMoves(this.board)) {
+            if(!this.board.isSquareAttacked(move.getDestinationCoordinate(), opponentColor, occupancyWithoutKing)) {
+                calculatedMoves.add(move);
+                if(calculatedMoves.size() >= maxMoves) {
+                    return calculatedMoves;
+                }
+            }
+        }
+        if(Long.bitCount(checkers) > 1) {
+            return calculatedMoves;
+        }
+        final long checkMask = checkers == 0 ? ~0L :
+                checkers | MagicBitBoards.between(kingPosition, Long.numberOfTrailingZeros(checkers));
+        final long[] pinLines = calculatePinLines(kingPosition, opponentColor);
+        for(final Piece piece : getActivePieces()){
+            if(piece == this.playerKing) {
+                continue;
+            }
+            final long allowedTiles = pinLines == null ? checkMask : checkMask & pinLines[piece.getPiecePosition()];
+            for(final Move move : piece.calculateLegalMoves(this.board)) {
+                //En passant removes two pieces from a line at once, it is simply tried out
+                final boolean isLegal = move instanceof Move.PawnEnPassantAttackMove ?
+                        !move.execute().currentPlayer().getOpponent().isInCheck() :
+                        (allowedTiles & BoardUtils.squareMask(move.getDestinationCoordinate())) != 0;
+                if(isLegal) {
+                    calculatedMoves.add(move);
+                    if(calculatedMoves.size() >= maxMoves) {
+                        return calculatedMoves;
+                    }
+                }
+            }
+        }
+        calculatedMoves.addAll(calculateKingCastles());
+        return calculatedMoves;
+    }
+
+    //The tiles each pinned piece may move to, indexed by tile and unrestricted for the others; null without pins
+    private long[] calculatePinLines(final int kingPosition,
+                                     final PieceColor opponentColor) {
+        final long opponentOccupancy = this.board.getOccupancy(opponentColor);
+        final long opponentQueens = this.board.getPieceBitBoard(opponentColor, Piece.PieceType.QUEEN);
+        long pinners = (MagicBitBoards.rookAttacks(kingPosition, opponentOccupancy) &
+                (this.board.getPieceBitBoard(opponentColor, Piece.PieceType.ROOK) | opponentQueens)) |
+                (MagicBitBoards.bishopAttacks(kingPosition, opponentOccupancy) &
+                (this.board.getPieceBitBoard(opponentColor, Piece.PieceType.BISHOP) | opponentQueens));
+        long[] pinLines = null;
+        while(pinners != 0) {
+            final int pinnerPosition = Long.numberOfTrailingZeros(pinners);
+            pinners &= pinners - 1;
+            final long between = MagicBitBoards.between(kingPosition, pinnerPosition);
+            final long blockers = between & this.board.getOccupancy();
+            if(Long.bitCount(blockers) == 1 && (blockers & this.board.getOccupancy(getPieceColor())) != 0) {
+                if(pinLines == null) {
+                    pinLines = new long[BoardUtils.NUM_TILES];
+                    Arrays.fill(pinLines, ~0L);
+                }
+                pinLines[Long.numberOfTrailingZeros(blockers)] = between | BoardUtils.squareMask(pinnerPosition);
+            }
+        }
+        return pinLines;
     }
 
     private boolean isMoveLegal(Move move){
-        return this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
 
     public boolean isInCheck(){
@@ -53,11 +131,27 @@ public abstract class Player {
     }
 
     public boolean isInCheckMate(){
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameState() == GameState.CHECKMATE;
     }
 
     public boolean isInStaleMate(){
-        return !this.isInCheck && !hasEscapeMoves();
+        return getGameState() == GameState.STALEMATE;
+    }
+
+    //Decided once per board; unless the moves are already generated it only looks for a single legal move
+    public GameState getGameState() {
+        GameState state = this.gameState;
+        if(state == null) {
+            final Collection<Move> moves = this.legalMoves;
+            final boolean hasLegalMove = moves != null ? !moves.isEmpty() : !calculateLegalMoves(1).isEmpty();
+            if(this.isInCheck) {
+                state = hasLegalMove ? GameState.CHECK : GameState.CHECKMATE;
+            } else {
+                state = hasLegalMove ? GameState.ONGOING : GameState.STALEMATE;
+            }
+            this.gameState = state;
+        }
+        return state;
     }
 
     public boolean isCastled(){
@@ -72,41 +166,13 @@ public abstract class Player {
         throw new RuntimeException("Your code broke!");
     }
 
-    static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> opponentMoves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move : opponentMoves){
-            if(piecePosition == move.getDestinationCoordinate()){
-                attackMoves.add(move);
-            }
-        }
-        return ImmutableList.copyOf(attackMoves);
-    }
-
-    private boolean hasEscapeMoves() {
-        for(final Move move : this.legalMoves){
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()){
-                return true;
-            }
-        }
-        return false;
-    }
-
     public MoveTransition makeMove(Move move){
 
         if(!isMoveLegal(move)){
             return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
 
-        final Board transitionedBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-                transitionedBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionedBoard.currentPlayer().getLegalMoves());
-
-        if(!kingAttacks.isEmpty()){
-            return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-        return new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
     }
 
     public MoveTransition unMakeMove(final Move move) {
@@ -116,5 +182,10 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePieces();
     public abstract PieceColor getPieceColor();
     public abstract Player getOpponent();
-    public abstract Collection<Move> calculateKingCastles(Collection<Move> opponentLegals);
+    public abstract Collection<Move> calculateKingCastles();
+
+    //A castling king may not pass over or land on an attacked tile
+    boolean isTileSafe(final int tilePosition) {
+        return !this.board.isSquareAttacked(tilePosition, getPieceColor().getOppositeColor());
+    }
 }
\ No newline at end of file
@@ -15,8 +15,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class WhitePlayer extends Player{
-    public WhitePlayer(Board board, Collection<Move> whitesLegals, Collection<Move> blacksLegals) {
-        super(board, whitesLegals, blacksLegals);
+    public WhitePlayer(Board board) {
+        super(board);
     }
 
     @Override
@@ -35,24 +35,23 @@ public class WhitePlayer extends Player{
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
             //Whites short castle - kingside
             if(!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(63);
-                if( rookTile.isTileOccupied() &&
-                    rookTile.getPiece().getPieceType().isRook() &&
-                    rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(62, opponentLegals).isEmpty()){
+                if(rookTile.isTileOccupied() &&
+                        rookTile.getPiece().getPieceType().isRook() &&
+                        rookTile.getPiece().isFirstMove() &&
+                        isTileSafe(61) &&
+                        isTileSafe(62)){
                     kingCastles.add(new KingSideCastleMove(this.board,
-                                       this.playerKing,
-                                       62,
-                                       (Rook)rookTile.getPiece(),
-                                       rookTile.getTileCoordinate(),
-                                       61));
-                    }
+                            this.playerKing,
+                            62,
+                            (Rook)rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            61));
                 }
             }
             //Whites Long castle -queenside
@@ -60,18 +59,20 @@ public class WhitePlayer extends Player{
                     !this.board.getTile(58).isTileOccupied() &&
                     !this.board.getTile(57).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(56);
-                if( rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
-                    rookTile.getPiece().getPieceType().isRook()){
+                if(rookTile.isTileOccupied() &&
+                        rookTile.getPiece().getPieceType().isRook() &&
+                        rookTile.getPiece().isFirstMove() &&
+                        isTileSafe(58) &&
+                        isTileSafe(59)){
                     kingCastles.add(new QueenSideCastleMove(this.board,
-                                        this.playerKing,
-                                        58,
-                                        (Rook)rookTile.getPiece(),
-                                        rookTile.getTileCoordinate(),
-                                        59));
-                    }
+                            this.playerKing,
+                            58,
+                            (Rook)rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            59));
                 }
+            }
+        }
         return ImmutableList.copyOf(kingCastles);
     }
 
@@ -2,17 +2,65 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class AlphaBetaPruning implements MoveStrategy {
 
+    public static final int MAX_SEARCH_DEPTH = 64;
+
+    private static final long NO_TIME_LIMIT = -1;
+    private static final int MOVES_TO_GO = 30;
+    private static final int ROOT_SPLIT_TABLE_SIZE_MB = 1;
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int MIN_ASPIRATION_DEPTH = 3;
+
     private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveSorter moveSorter;
     private final int depth;
+    private final long timeBudget;
+    private final int threadCount;
+    private final boolean rootSplit;
+    private final SearchParameters parameters;
     private long executionTime;
+    private SearchStatistics statistics = new SearchStatistics();
+    private List<Move> principalVariation = Collections.emptyList();
 
     public AlphaBetaPruning(final int searchDepth) {
+        this(new Builder().setSearchDepth(searchDepth));
+    }
+
+    //Passing the same table to the strategy of every move keeps what earlier searches learned
+    public AlphaBetaPruning(final int searchDepth,
+                            final TranspositionTable transpositionTable) {
+        this(new Builder().setSearchDepth(searchDepth).setTranspositionTable(transpositionTable));
+    }
+
+    private AlphaBetaPruning(final Builder builder) {
+        if (builder.threadCount < 1) {
+            throw new RuntimeException("Search needs at least one thread, got " + builder.threadCount);
+        }
         this.evaluator = new StandardBoardEvaluator();
-        this.depth = searchDepth;
+        this.transpositionTable = builder.transpositionTable != null ?
+                builder.transpositionTable : new TranspositionTable();
+        this.moveSorter = new MoveSorter();
+        this.depth = builder.searchDepth;
+        this.timeBudget = calculateTimeBudget(builder);
+        this.threadCount = builder.threadCount;
+        this.rootSplit = builder.rootSplit;
+        this.parameters = new SearchParameters(builder.nullMoveReduction,
+                builder.lateMoveReductions != null ? builder.lateMoveReductions : SearchParameters.defaultLateMoveReductions(),
+                builder.futilityMargins, builder.extensions, builder.extensionBudget);
     }
 
     @Override
@@ -20,83 +68,366 @@ public final class AlphaBetaPruning implements MoveStrategy {
         return executionTime;
     }
 
+    //Counters are summed over all threads; with Lazy SMP the iteration nodes are those of the main thread
+    @Override
+    public SearchStatistics getSearchStatistics() {
+        return this.statistics;
+    }
+
+    //The line the last search expects, starting with the move it returned
+    @Override
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
     @Override
     public String toString() {
         return "AlphaBetaPruning";
     }
 
+    //Searches depth 1, 2, ... up to the search depth, each iteration trying the previous best move first.
+    //When the time budget runs out the unfinished iteration is thrown away.
     @Override
     public Move execute(final Board board) {
         final long startTime = System.currentTimeMillis();
-        Move bestMove = null;
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
-        System.out.println(board.currentPlayer() + " THINKING with depth = " +depth);
-
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final Move[] rootMoves = new Move[board.currentPlayer().getLegalMoves().size()];
+        final int[] rootSearchMoves = new int[rootMoves.length];
+        int rootMoveCount = 0;
         for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentValue = board.currentPlayer().getPieceColor().isWhite() ?
-                        min(moveTransition.getToBoard(), highestSeenValue, lowestSeenValue, depth - 1) :
-                        max(moveTransition.getToBoard(), highestSeenValue, lowestSeenValue, depth - 1);
-                if (board.currentPlayer().getPieceColor().isWhite() &&
-                        currentValue > highestSeenValue) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getPieceColor().isBlack() &&
-                        currentValue < lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+            final int searchMove = searchBoard.findMove(move.getCurrentCoordinate(), move.getDestinationCoordinate());
+            if (searchMove != SearchBoard.NO_MOVE && searchBoard.makeMove(searchMove)) {
+                searchBoard.unmakeMove();
+                rootMoves[rootMoveCount] = move;
+                rootSearchMoves[rootMoveCount++] = searchMove;
             }
-            executionTime = System.currentTimeMillis() - startTime;
         }
+        final long deadline = this.timeBudget == NO_TIME_LIMIT ? Long.MAX_VALUE : startTime + this.timeBudget;
+        final Move bestMove = this.rootSplit ?
+                searchRootSplit(board, rootMoves, rootSearchMoves, rootMoveCount, startTime, deadline) :
+                searchLazySmp(board, searchBoard, rootMoves, rootSearchMoves, rootMoveCount, startTime, deadline);
+        executionTime = System.currentTimeMillis() - startTime;
+        this.statistics.setExecutionTime(executionTime);
         return bestMove;
     }
 
-    private int min(final Board board,
-                    final int alpha,
-                    final int beta,
-                    final int depth) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+    private Move searchLazySmp(final Board board,
+                               final SearchBoard searchBoard,
+                               final Move[] rootMoves,
+                               final int[] rootSearchMoves,
+                               final int rootMoveCount,
+                               final long startTime,
+                               final long deadline) {
+        this.transpositionTable.newSearch();
+        final AtomicBoolean stopSignal = new AtomicBoolean(false);
+        final List<SearchWorker> helperWorkers = new ArrayList<>();
+        final List<Thread> helpers = startHelpers(board, rootSearchMoves, rootMoveCount, stopSignal, deadline,
+                helperWorkers);
+        final SearchWorker worker = new SearchWorker(searchBoard, this.evaluator, this.transpositionTable,
+                this.moveSorter, stopSignal, deadline, this.parameters);
+        final SearchStatistics searchStatistics = new SearchStatistics();
+
+        Move bestMove = rootMoveCount > 0 ? rootMoves[0] : null;
+        int[] principalVariation = new int[0];
+        int score = 0;
+        for (int currentDepth = 1; currentDepth <= this.depth && rootMoveCount > 0; currentDepth++) {
+            //Aspiration: expect the score of the last iteration and widen the side that fails until it fits
+            int delta = ASPIRATION_WINDOW;
+            int alpha = currentDepth < MIN_ASPIRATION_DEPTH ? -SearchWorker.INFINITE : widen(score, -delta);
+            int beta = currentDepth < MIN_ASPIRATION_DEPTH ? SearchWorker.INFINITE : widen(score, delta);
+            int bestIndex;
+            while (true) {
+                bestIndex = worker.searchRoot(rootSearchMoves, rootMoveCount, currentDepth, alpha, beta);
+                if (worker.isStopped()) {
+                    break;
+                }
+                score = worker.getRootScore();
+                if (score <= alpha) {
+                    alpha = widen(alpha, -delta);
+                } else if (score >= beta) {
+                    beta = widen(beta, delta);
+                } else {
+                    break;
+                }
+                delta = widen(delta, delta);
+            }
+            if (worker.isStopped()) {
+                break;
+            }
+            bestMove = rootMoves[bestIndex];
+            principalVariation = worker.getPrincipalVariation();
+            moveToFront(rootMoves, rootSearchMoves, bestIndex);
+            searchStatistics.addIteration(currentDepth, System.currentTimeMillis() - startTime,
+                    worker.getStatistics().getNodes());
+            if (isOutOfTime(startTime)) {
+                break;
+            }
         }
+        stopSignal.set(true);
+        joinHelpers(helpers);
+        searchStatistics.add(worker.getStatistics());
+        for (final SearchWorker helper : helperWorkers) {
+            searchStatistics.add(helper.getStatistics());
+        }
+        this.statistics = searchStatistics;
+        this.principalVariation = toBoardMoves(board, principalVariation);
+        return bestMove;
+    }
 
-        int currentLowest = beta;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentLowest = Math.min(currentLowest, max(moveTransition.getToBoard(), alpha, currentLowest, depth-1));
-                if(currentLowest <= alpha)
+    //Every root move is an independent task with its own board, move ordering and small table, searched with
+    //a full window. Scores are combined in root move order, so the chosen move does not depend on the thread
+    //count or on which task finished first.
+    private Move searchRootSplit(final Board board,
+                                 final Move[] rootMoves,
+                                 final int[] rootSearchMoves,
+                                 final int rootMoveCount,
+                                 final long startTime,
+                                 final long deadline) {
+        final AtomicBoolean stopSignal = new AtomicBoolean(false);
+        final SearchWorker[] workers = new SearchWorker[rootMoveCount];
+        for (int i = 0; i < rootMoveCount; i++) {
+            workers[i] = new SearchWorker(new SearchBoard(board), this.evaluator,
+                    new TranspositionTable(ROOT_SPLIT_TABLE_SIZE_MB, TranspositionTable.ReplacementScheme.DEPTH_PREFERRED),
+                    new MoveSorter(), stopSignal, deadline, this.parameters);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(this.threadCount);
+        final SearchStatistics searchStatistics = new SearchStatistics();
+        Move bestMove = rootMoveCount > 0 ? rootMoves[0] : null;
+        int[] principalVariation = new int[0];
+        try {
+            for (int currentDepth = 1; currentDepth <= this.depth && rootMoveCount > 0; currentDepth++) {
+                final List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+                for (int i = 0; i < rootMoveCount; i++) {
+                    final SearchWorker worker = workers[i];
+                    final int rootMove = rootSearchMoves[i];
+                    final int searchDepth = currentDepth;
+                    tasks.add(pool.submit(() -> worker.searchMove(rootMove, searchDepth)));
+                }
+                int bestIndex = 0;
+                int bestValue = tasks.get(0).join();
+                for (int i = 1; i < rootMoveCount; i++) {
+                    final int value = tasks.get(i).join();
+                    if (value > bestValue) {
+                        bestValue = value;
+                        bestIndex = i;
+                    }
+                }
+                if (stopSignal.get()) {
                     break;
+                }
+                bestMove = rootMoves[bestIndex];
+                principalVariation = workers[bestIndex].getPrincipalVariation();
+                searchStatistics.addIteration(currentDepth, System.currentTimeMillis() - startTime,
+                        countNodes(workers));
+                if (isOutOfTime(startTime)) {
+                    break;
+                }
             }
+        } finally {
+            pool.shutdown();
+        }
+        for (final SearchWorker worker : workers) {
+            searchStatistics.add(worker.getStatistics());
         }
-        return currentLowest;
+        this.statistics = searchStatistics;
+        this.principalVariation = toBoardMoves(board, principalVariation);
+        return bestMove;
     }
 
-    private int max(final Board board,
-                    final int alpha,
-                    final int beta,
-                    final int depth) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+    private static long countNodes(final SearchWorker[] workers) {
+        long nodes = 0;
+        for (final SearchWorker worker : workers) {
+            nodes += worker.getStatistics().getNodes();
         }
+        return nodes;
+    }
 
-        int currentHighest = alpha;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentHighest = Math.max(currentHighest, min(moveTransition.getToBoard(), currentHighest, beta, depth-1));
-                if(currentHighest >= beta)
+    //The next iteration costs several times the last one, so do not start what cannot finish
+    private boolean isOutOfTime(final long startTime) {
+        return this.timeBudget != NO_TIME_LIMIT && System.currentTimeMillis() - startTime > this.timeBudget / 2;
+    }
+
+    //Lazy SMP: helpers run the same iterative deepening on their own board and only talk to the main
+    //search through the shared transposition table. Odd helpers start one ply deeper and each helper
+    //rotates the root moves, so they fill the table with entries the main search has not reached yet.
+    private List<Thread> startHelpers(final Board board,
+                                      final int[] rootSearchMoves,
+                                      final int rootMoveCount,
+                                      final AtomicBoolean stopSignal,
+                                      final long deadline,
+                                      final List<SearchWorker> helperWorkers) {
+        final List<Thread> helpers = new ArrayList<>();
+        for (int helperId = 1; helperId < this.threadCount && rootMoveCount > 0; helperId++) {
+            final int[] helperMoves = new int[rootMoveCount];
+            for (int i = 0; i < rootMoveCount; i++) {
+                helperMoves[i] = rootSearchMoves[(i + helperId) % rootMoveCount];
+            }
+            final int startDepth = 1 + (helperId & 1);
+            final SearchWorker helper = new SearchWorker(new SearchBoard(board), this.evaluator,
+                    this.transpositionTable, new MoveSorter(), stopSignal, deadline, this.parameters);
+            helperWorkers.add(helper);
+            final Thread thread = new Thread(() -> {
+                for (int currentDepth = startDepth; currentDepth <= this.depth && !helper.isStopped(); currentDepth++) {
+                    helper.searchRoot(helperMoves, rootMoveCount, currentDepth,
+                            -SearchWorker.INFINITE, SearchWorker.INFINITE);
+                }
+            }, "AlphaBetaPruning helper " + helperId);
+            thread.setDaemon(true);
+            thread.start();
+            helpers.add(thread);
+        }
+        return helpers;
+    }
+
+    private static void joinHelpers(final List<Thread> helpers) {
+        for (final Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void moveToFront(final Move[] rootMoves,
+                                    final int[] rootSearchMoves,
+                                    final int index) {
+        final Move move = rootMoves[index];
+        final int searchMove = rootSearchMoves[index];
+        System.arraycopy(rootMoves, 0, rootMoves, 1, index);
+        System.arraycopy(rootSearchMoves, 0, rootSearchMoves, 1, index);
+        rootMoves[0] = move;
+        rootSearchMoves[0] = searchMove;
+    }
+
+    private static int widen(final int bound,
+                             final int delta) {
+        return (int) Math.max(-SearchWorker.INFINITE, Math.min(SearchWorker.INFINITE, (long) bound + delta));
+    }
+
+    //Replays the search moves on the immutable board, stopping at one it cannot play (it only promotes to a queen)
+    private static List<Move> toBoardMoves(final Board board,
+                                           final int[] searchMoves) {
+        final List<Move> moves = new ArrayList<>();
+        Board currentBoard = board;
+        for (final int searchMove : searchMoves) {
+            if (SearchBoard.isPromotion(searchMove) && !SearchBoard.isQueenPromotion(searchMove)) {
+                break;
+            }
+            Move boardMove = null;
+            for (final Move move : currentBoard.currentPlayer().getLegalMoves()) {
+                if (move.getCurrentCoordinate() == SearchBoard.getFrom(searchMove) &&
+                    move.getDestinationCoordinate() == SearchBoard.getTo(searchMove)) {
+                    boardMove = move;
                     break;
+                }
+            }
+            if (boardMove == null) {
+                break;
             }
+            moves.add(boardMove);
+            currentBoard = currentBoard.currentPlayer().makeMove(boardMove).getToBoard();
+        }
+        return Collections.unmodifiableList(moves);
+    }
+
+    private static long calculateTimeBudget(final Builder builder) {
+        if (builder.moveTime > 0) {
+            return builder.moveTime;
+        }
+        if (builder.remainingTime > 0) {
+            return Math.max(1, Math.min(builder.remainingTime / MOVES_TO_GO + builder.increment,
+                                        builder.remainingTime / 2));
         }
-        return currentHighest;
+        return NO_TIME_LIMIT;
     }
 
-    private static boolean isEndGameScenario(final Board board) {
-        return  board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
+    public static class Builder {
+        private int searchDepth = MAX_SEARCH_DEPTH;
+        private TranspositionTable transpositionTable;
+        private long moveTime;
+        private long remainingTime;
+        private long increment;
+        private int threadCount = 1;
+        private boolean rootSplit;
+        private int nullMoveReduction = SearchParameters.DEFAULT_NULL_MOVE_REDUCTION;
+        private int[][] lateMoveReductions;
+        private int[] futilityMargins = SearchParameters.DEFAULT_FUTILITY_MARGINS;
+        private Set<SearchExtension> extensions = EnumSet.allOf(SearchExtension.class);
+        private int extensionBudget = SearchParameters.DEFAULT_EXTENSION_BUDGET;
+
+        public Builder setSearchDepth(final int searchDepth) {
+            this.searchDepth = searchDepth;
+            return this;
+        }
+
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        //A fixed number of milliseconds for every move
+        public Builder setMoveTime(final long moveTime) {
+            this.moveTime = moveTime;
+            return this;
+        }
+
+        //Spends a share of the remaining clock plus the increment on this move
+        public Builder setClock(final long remainingTime,
+                                final long increment) {
+            this.remainingTime = remainingTime;
+            this.increment = increment;
+            return this;
+        }
+
+        //Threads beyond the first are Lazy SMP helpers sharing the transposition table
+        public Builder setThreadCount(final int threadCount) {
+            this.threadCount = threadCount;
+            return this;
+        }
+
+        //Splits the root moves over the threads instead of running Lazy SMP helpers; the result is the same for any thread count
+        public Builder setRootSplit(final boolean rootSplit) {
+            this.rootSplit = rootSplit;
+            return this;
+        }
+
+        //Plies a null move search is shortened by beyond the move itself; 0 turns null-move pruning off
+        public Builder setNullMoveReduction(final int nullMoveReduction) {
+            this.nullMoveReduction = nullMoveReduction;
+            return this;
+        }
+
+        //Plies to reduce late quiet moves by, indexed [remaining depth][legal move number from 1]; a move that
+        //beats the bound anyway is searched again at full depth. An empty table turns reductions off
+        public Builder setLateMoveReductions(final int[][] lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        //Evaluation margins indexed by remaining depth: a quiet move is skipped when the static evaluation plus
+        //the margin cannot reach the bound. An empty array turns futility pruning off
+        public Builder setFutilityMargins(final int[] futilityMargins) {
+            this.futilityMargins = futilityMargins;
+            return this;
+        }
+
+        //Forcing moves that are searched one ply deeper; all of them by default, none when called without arguments
+        public Builder setExtensions(final SearchExtension... extensions) {
+            this.extensions = EnumSet.noneOf(SearchExtension.class);
+            this.extensions.addAll(Arrays.asList(extensions));
+            return this;
+        }
+
+        //Most plies the extensions may add along a single path, which keeps checks back and forth from exploding the tree
+        public Builder setExtensionBudget(final int extensionBudget) {
+            this.extensionBudget = extensionBudget;
+            return this;
+        }
+
+        public AlphaBetaPruning build() {
+            return new AlphaBetaPruning(this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,9 @@ package com.chess.engine.player.ai;
 import java.util.Collection;
 
 import com.chess.engine.BoardUtils;
+import com.chess.engine.PieceColor;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -30,10 +32,32 @@ public final class KingSafetyAnalyzer {
                 closestPiece = move.getMovedPiece();
             }
         }
-        return new KingDistance(closestPiece, closestDistance);
+        return new KingDistance(closestPiece == null ? null : closestPiece.getPieceType(), closestDistance);
     }
 
-    private int calculateChebyshevDistance(final int pieceOneSquare,
+    KingDistance calculateKingTropism(final SearchBoard board,
+                                      final PieceColor playerColor) {
+        final int playerKingSquare = board.getKingSquare(playerColor);
+        Piece.PieceType closestPieceType = null;
+        int closestDistance = Integer.MAX_VALUE;
+        long enemyPieces = board.getOccupancy(playerColor.getOppositeColor());
+        while(enemyPieces != 0) {
+            final int enemySquare = Long.numberOfTrailingZeros(enemyPieces);
+            enemyPieces &= enemyPieces - 1;
+            long targets = board.getMoveTargets(enemySquare);
+            while(targets != 0) {
+                final int currentDistance = calculateChebyshevDistance(playerKingSquare, Long.numberOfTrailingZeros(targets));
+                if(currentDistance < closestDistance) {
+                    closestDistance = currentDistance;
+                    closestPieceType = board.getPieceType(enemySquare);
+                }
+                targets &= targets - 1;
+            }
+        }
+        return new KingDistance(closestPieceType, closestDistance);
+    }
+
+    private static int calculateChebyshevDistance(final int pieceOneSquare,
                                            final int pieceTwoSquare) {
 
         final int squareOneRank = getRank(pieceOneSquare);
@@ -49,59 +73,25 @@ public final class KingSafetyAnalyzer {
     }
 
     private static int getFile(final int coordinate) {
-        if(BoardUtils.FIRST_COLUMN[coordinate]) {
-            return 1;
-        } else if(BoardUtils.SECOND_COLUMN[coordinate]) {
-            return 2;
-        } else if(BoardUtils.THIRD_COLUMN[coordinate]) {
-            return 3;
-        } else if(BoardUtils.FOURTH_COLUMN[coordinate]) {
-            return 4;
-        } else if(BoardUtils.FIFTH_COLUMN[coordinate]) {
-            return 5;
-        } else if(BoardUtils.SIXTH_COLUMN[coordinate]) {
-            return 6;
-        } else if(BoardUtils.SEVENTH_COLUMN[coordinate]) {
-            return 7;
-        } else if(BoardUtils.EIGHTH_COLUMN[coordinate]) {
-            return 8;
-        }
-        throw new RuntimeException("should not reach here!");
+        return BoardUtils.getColumn(coordinate) + 1;
     }
 
     private static int getRank(final int coordinate) {
-        if(BoardUtils.FIRST_RANK[coordinate]) {
-            return 1;
-        } else if(BoardUtils.SECOND_RANK[coordinate]) {
-            return 2;
-        } else if(BoardUtils.THIRD_RANK[coordinate]) {
-            return 3;
-        } else if(BoardUtils.FOURTH_RANK[coordinate]) {
-            return 4;
-        } else if(BoardUtils.FIFTH_RANK[coordinate]) {
-            return 5;
-        } else if(BoardUtils.SIXTH_RANK[coordinate]) {
-            return 6;
-        } else if(BoardUtils.SEVENTH_RANK[coordinate]) {
-            return 7;
-        } else if(BoardUtils.EIGHTH_RANK[coordinate]) {
-            return 8;
-        }
-        throw new RuntimeException("should not reach here!");
+        return BoardUtils.NUM_TILES_PER_ROW - BoardUtils.getRow(coordinate);
     }
 
     static class KingDistance {
 
-        final Piece closestEnemy;
+        final Piece.PieceType closestEnemy;
         final int distance;
 
-        KingDistance(final Piece closestEnemy,
+        KingDistance(final Piece.PieceType closestEnemy,
                      final int distance) {
             this.closestEnemy = closestEnemy;
             this.distance = distance;
         }
 
-        Piece getEnemyPiece() {
+        Piece.PieceType getEnemyPieceType() {
             return closestEnemy;
         }
 
@@ -2,17 +2,36 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public final class MiniMax implements MoveStrategy {
 
     private final BoardEvaluator evaluator;
     private final int depth;
+    private final int parallelism;
     private long executionTime;
+    private SearchStatistics statistics = new SearchStatistics();
+    private List<Move> principalVariation = Collections.emptyList();
 
     public MiniMax(final int searchDepth) {
+        this(searchDepth, 1);
+    }
+
+    //With more than one thread the root moves are searched concurrently on a ForkJoinPool
+    public MiniMax(final int searchDepth,
+                   final int parallelism) {
+        if (parallelism < 1) {
+            throw new RuntimeException("Search needs at least one thread, got " + parallelism);
+        }
         this.evaluator = new StandardBoardEvaluator();
         this.depth = searchDepth;
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -20,6 +39,17 @@ public final class MiniMax implements MoveStrategy {
         return this.executionTime;
     }
 
+    @Override
+    public SearchStatistics getSearchStatistics() {
+        return this.statistics;
+    }
+
+    //MiniMax keeps no line below the root, so this is only the chosen move
+    @Override
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
     @Override
     public String toString() {
         return "MiniMax";
@@ -28,75 +58,154 @@ public final class MiniMax implements MoveStrategy {
     @Override
     public Move execute(final Board board) {
         final long startTime = System.currentTimeMillis();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final List<Move> rootMoves = new ArrayList<>();
+        final List<Integer> rootSearchMoves = new ArrayList<>();
+
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int searchMove = searchBoard.findMove(move.getCurrentCoordinate(), move.getDestinationCoordinate());
+            if (searchMove != SearchBoard.NO_MOVE && searchBoard.makeMove(searchMove)) {
+                searchBoard.unmakeMove();
+                rootMoves.add(move);
+                rootSearchMoves.add(searchMove);
+            }
+        }
+        final SearchStatistics[] rootStatistics = new SearchStatistics[rootSearchMoves.size()];
+        for (int i = 0; i < rootStatistics.length; i++) {
+            rootStatistics[i] = new SearchStatistics();
+        }
+        final int[] values = this.parallelism == 1 ?
+                searchRootMoves(searchBoard, rootSearchMoves, rootStatistics) :
+                searchRootMovesInParallel(board, rootSearchMoves, rootStatistics);
+
+        //Scores are compared in root move order either way, so the parallel search picks the same move
         Move bestMove = null;
         int highestSeenValue = Integer.MIN_VALUE;
         int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
-        System.out.println(board.currentPlayer() + " THINKING with depth = " +depth);
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
+        for (int i = 0; i < values.length; i++) {
+            if (board.currentPlayer().getPieceColor().isWhite() &&
+                    values[i] > highestSeenValue) {
+                highestSeenValue = values[i];
+                bestMove = rootMoves.get(i);
+            } else if (board.currentPlayer().getPieceColor().isBlack() &&
+                    values[i] < lowestSeenValue) {
+                lowestSeenValue = values[i];
+                bestMove = rootMoves.get(i);
+            }
+        }
+        executionTime = System.currentTimeMillis() - startTime;
+        final SearchStatistics searchStatistics = new SearchStatistics();
+        for (final SearchStatistics moveStatistics : rootStatistics) {
+            searchStatistics.add(moveStatistics);
+        }
+        searchStatistics.addIteration(depth, executionTime, searchStatistics.getNodes());
+        searchStatistics.setExecutionTime(executionTime);
+        this.statistics = searchStatistics;
+        this.principalVariation = bestMove == null ? Collections.<Move>emptyList() : Collections.singletonList(bestMove);
+        return bestMove;
+    }
 
-                currentValue = board.currentPlayer().getPieceColor().isWhite() ?
-                        min(moveTransition.getToBoard(), depth - 1) :
-                        max(moveTransition.getToBoard(), depth - 1);
+    private int[] searchRootMoves(final SearchBoard searchBoard,
+                                  final List<Integer> rootSearchMoves,
+                                  final SearchStatistics[] rootStatistics) {
+        final int[] values = new int[rootSearchMoves.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = searchRootMove(searchBoard, rootSearchMoves.get(i), rootStatistics[i]);
+        }
+        return values;
+    }
 
-                if (board.currentPlayer().getPieceColor().isWhite() &&
-                        currentValue > highestSeenValue) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getPieceColor().isBlack() &&
-                        currentValue < lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+    private int[] searchRootMovesInParallel(final Board board,
+                                            final List<Integer> rootSearchMoves,
+                                            final SearchStatistics[] rootStatistics) {
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            final List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < rootStatistics.length; i++) {
+                final int rootMove = rootSearchMoves.get(i);
+                final SearchStatistics moveStatistics = rootStatistics[i];
+                tasks.add(pool.submit(() -> searchRootMove(new SearchBoard(board), rootMove, moveStatistics)));
             }
-            executionTime = System.currentTimeMillis() - startTime;
+            final int[] values = new int[tasks.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = tasks.get(i).join();
+            }
+            return values;
+        } finally {
+            pool.shutdown();
         }
-        return bestMove;
     }
 
-    private int min(final Board board,
-                    final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+    private int searchRootMove(final SearchBoard searchBoard,
+                               final int rootMove,
+                               final SearchStatistics statistics) {
+        //One move list per remaining depth, shared by all nodes at that depth
+        final int[][] moveLists = new int[depth][SearchBoard.MAX_MOVES];
+        searchBoard.makeMove(rootMove);
+        final int value = searchBoard.getSideToMove().isWhite() ?
+                max(searchBoard, depth - 1, moveLists, statistics) :
+                min(searchBoard, depth - 1, moveLists, statistics);
+        searchBoard.unmakeMove();
+        return value;
+    }
+
+    //A node without legal moves is checkmate or stalemate and is scored by the evaluator, as before
+    private int min(final SearchBoard board,
+                    final int depth,
+                    final int[][] moveLists,
+                    final SearchStatistics statistics) {
+        statistics.addNode(this.depth - depth);
+        if(depth == 0) {
+            return evaluate(board, depth, statistics);
         }
 
         int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getToBoard(), depth - 1);
+        boolean hasLegalMove = false;
+        final int[] moves = moveLists[depth];
+        final int moveCount = board.generateMoves(moves);
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                hasLegalMove = true;
+                final int currentValue = max(board, depth - 1, moveLists, statistics);
+                board.unmakeMove();
                 if (currentValue <= lowestSeenValue) {
                     lowestSeenValue = currentValue;
                 }
             }
         }
-        return lowestSeenValue;
+        return hasLegalMove ? lowestSeenValue : evaluate(board, depth, statistics);
     }
 
-    private int max(final Board board,
-                    final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
+    private int max(final SearchBoard board,
+                    final int depth,
+                    final int[][] moveLists,
+                    final SearchStatistics statistics) {
+        statistics.addNode(this.depth - depth);
+        if(depth == 0) {
+            return evaluate(board, depth, statistics);
         }
 
         int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getToBoard(), depth - 1);
+        boolean hasLegalMove = false;
+        final int[] moves = moveLists[depth];
+        final int moveCount = board.generateMoves(moves);
+        for (int i = 0; i < moveCount; i++) {
+            if (board.makeMove(moves[i])) {
+                hasLegalMove = true;
+                final int currentValue = min(board, depth - 1, moveLists, statistics);
+                board.unmakeMove();
                 if (currentValue >= highestSeenValue) {
                     highestSeenValue = currentValue;
                 }
             }
         }
-        return highestSeenValue;
+        return hasLegalMove ? highestSeenValue : evaluate(board, depth, statistics);
     }
 
-    private static boolean isEndGameScenario(final Board board) {
-        return  board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
+    private int evaluate(final SearchBoard board,
+                         final int depth,
+                         final SearchStatistics statistics) {
+        statistics.addEvaluation();
+        return this.evaluator.evaluate(board, depth);
     }
-}
\ No newline at end of file
+}
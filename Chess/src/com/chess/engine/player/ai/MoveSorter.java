@@ -0,0 +1,143 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Orders the moves of a search node so the likeliest cutoff comes first:
+ * the transposition table move, then captures and promotions that do not lose
+ * material by most valuable victim / least valuable attacker, then the two
+ * killer moves of the ply, the remaining quiet moves, underpromotions included,
+ * by their history score, and last the losing captures by static exchange.
+ */
+final class MoveSorter {
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int KILLER_SCORE = 1 << 28;
+    private static final int LOSING_CAPTURE_SCORE = -(1 << 28);
+    private static final int VICTIM_WEIGHT = 100;
+    private static final int MAX_HISTORY = KILLER_SCORE >> 1;
+    private static final int NUM_KILLERS = 2;
+
+    private final int[][] killerMoves = new int[SearchBoard.MAX_PLY][NUM_KILLERS];
+    private final int[][][] history = new int[2][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private final StaticExchange staticExchange = new StaticExchange();
+
+    //Killers only make sense within one search, history is kept but halved so old results fade
+    void newSearch() {
+        for (final int[] killers : this.killerMoves) {
+            for (int i = 0; i < NUM_KILLERS; i++) {
+                killers[i] = SearchBoard.NO_MOVE;
+            }
+        }
+        ageHistory();
+    }
+
+    void scoreMoves(final SearchBoard board,
+                    final int[] moves,
+                    final int[] scores,
+                    final int moveCount,
+                    final int hashMove,
+                    final int ply) {
+        final int[] killers = this.killerMoves[ply];
+        final int[][] sideHistory = this.history[board.getSideToMove().ordinal()];
+        for (int i = 0; i < moveCount; i++) {
+            final int move = moves[i];
+            if (move == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (SearchBoard.isCapture(move) || SearchBoard.isQueenPromotion(move)) {
+                final int exchange = mayLoseMaterial(board, move) ? this.staticExchange.evaluate(board, move) : 0;
+                scores[i] = exchange < 0 ? LOSING_CAPTURE_SCORE + exchange : CAPTURE_SCORE + mvvLva(board, move);
+            } else if (move == killers[0]) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == killers[1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = sideHistory[SearchBoard.getFrom(move)][SearchBoard.getTo(move)];
+            }
+        }
+    }
+
+    //Scores from scoreMoves below this belong to captures that lose material even after all recaptures
+    static boolean isLosingCapture(final int score) {
+        return score < LOSING_CAPTURE_SCORE;
+    }
+
+    //Selection sort step: swaps the best remaining move into position index and returns it
+    static int pickNextMove(final int[] moves,
+                            final int[] scores,
+                            final int index,
+                            final int moveCount) {
+        int bestIndex = index;
+        for (int i = index + 1; i < moveCount; i++) {
+            if (scores[i] > scores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        final int move = moves[bestIndex];
+        moves[bestIndex] = moves[index];
+        moves[index] = move;
+        final int score = scores[bestIndex];
+        scores[bestIndex] = scores[index];
+        scores[index] = score;
+        return move;
+    }
+
+    //Called for the move that caused a cutoff; captures are already ordered well so only quiet moves are recorded
+    void recordCutoff(final SearchBoard board,
+                      final int move,
+                      final int depth,
+                      final int ply) {
+        if (SearchBoard.isCapture(move) || SearchBoard.isPromotion(move)) {
+            return;
+        }
+        final int[] killers = this.killerMoves[ply];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        final int[][] sideHistory = this.history[board.getSideToMove().ordinal()];
+        sideHistory[SearchBoard.getFrom(move)][SearchBoard.getTo(move)] += depth * depth;
+        if (sideHistory[SearchBoard.getFrom(move)][SearchBoard.getTo(move)] > MAX_HISTORY) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for (final int[][] sideHistory : this.history) {
+            for (final int[] fromHistory : sideHistory) {
+                for (int to = 0; to < fromHistory.length; to++) {
+                    fromHistory[to] >>= 1;
+                }
+            }
+        }
+    }
+
+    //Taking a piece worth at least the capturer cannot lose material, so the exchange is only resolved otherwise
+    private static boolean mayLoseMaterial(final SearchBoard board,
+                                           final int move) {
+        if (SearchBoard.isPromotion(move)) {
+            return true;
+        }
+        final Piece.PieceType victim = board.getPieceType(SearchBoard.getTo(move));
+        return victim != null && board.getPieceType(SearchBoard.getFrom(move)).getPieceValue() > victim.getPieceValue();
+    }
+
+    private static int mvvLva(final SearchBoard board,
+                              final int move) {
+        final Piece.PieceType victim = board.getPieceType(SearchBoard.getTo(move));
+        final Piece.PieceType attacker = board.getPieceType(SearchBoard.getFrom(move));
+        int score = 0;
+        if (SearchBoard.isCapture(move)) {
+            //The en passant victim is not on the target square
+            score += (victim == null ? Piece.PieceType.PAWN : victim).getPieceValue() * VICTIM_WEIGHT -
+                     attacker.getPieceValue();
+        }
+        if (SearchBoard.isPromotion(move)) {
+            score += SearchBoard.getPromotionType(move).getPieceValue() * VICTIM_WEIGHT;
+        }
+        return score;
+    }
+}
@@ -3,8 +3,16 @@ package com.chess.engine.player.ai;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 
+import java.util.List;
+
 public interface MoveStrategy {
     long getExecutionTime();
 
+    //Statistics of the last execute
+    SearchStatistics getSearchStatistics();
+
+    //The line of play the last execute expects, starting with the move it returned
+    List<Move> getPrincipalVariation();
+
     Move execute(Board board);
 }
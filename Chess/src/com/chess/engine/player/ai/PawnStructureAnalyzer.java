@@ -1,21 +1,11 @@
 package com.chess.engine.player.ai;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 import com.chess.engine.BoardUtils;
-import com.chess.engine.pieces.Piece;
-import com.chess.engine.player.Player;
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
-import com.google.common.collect.ListMultimap;
 
 public final class PawnStructureAnalyzer {
 
     private static final PawnStructureAnalyzer INSTANCE = new PawnStructureAnalyzer();
-    private static final ImmutableList<boolean[]> BOARD_COLUMNS = initColumns();
+    private static final long[] ADJACENT_COLUMN_MASKS = initAdjacentColumnMasks();
 
     private static final int ISOLATED_PAWN_PENALTY = -10;
 
@@ -26,63 +16,31 @@ public final class PawnStructureAnalyzer {
         return INSTANCE;
     }
 
-    private static ImmutableList<boolean[]> initColumns() {
-        final List<boolean[]> columns = new ArrayList<>();
-        columns.add(BoardUtils.FIRST_COLUMN);
-        columns.add(BoardUtils.SECOND_COLUMN);
-        columns.add(BoardUtils.THIRD_COLUMN);
-        columns.add(BoardUtils.FOURTH_COLUMN);
-        columns.add(BoardUtils.FIFTH_COLUMN);
-        columns.add(BoardUtils.SIXTH_COLUMN);
-        columns.add(BoardUtils.SEVENTH_COLUMN);
-        columns.add(BoardUtils.EIGHTH_COLUMN);
-        return ImmutableList.copyOf(columns);
-    }
-
-    int pawnStructureScore(final Player player) {
-        final Collection<Piece> playerPawns = calculatePlayerPawns(player);
-        final ListMultimap<Integer, Piece> pawnsOnColumnTable = createPawnsOnColumnTable(playerPawns);
-        return calculateIsolatedPawnPenalty(pawnsOnColumnTable);
-    }
-
-    private static Collection<Piece> calculatePlayerPawns(final Player player) {
-        final Builder<Piece> playerPawnLocations = new Builder<>();
-        for (final Piece piece : player.getActivePieces()) {
-            if (piece.getPieceType().isPawn()) {
-                playerPawnLocations.add(piece);
+    private static long[] initAdjacentColumnMasks() {
+        final long[] adjacentColumns = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int i = 0; i < BoardUtils.NUM_TILES_PER_ROW; i++) {
+            if (i > 0) {
+                adjacentColumns[i] |= BoardUtils.COLUMN_MASKS[i - 1];
+            }
+            if (i < BoardUtils.NUM_TILES_PER_ROW - 1) {
+                adjacentColumns[i] |= BoardUtils.COLUMN_MASKS[i + 1];
             }
         }
-        return playerPawnLocations.build();
+        return adjacentColumns;
     }
 
-    private static int calculateIsolatedPawnPenalty(final ListMultimap<Integer, Piece> pawnsOnColumnTable) {
-        int numIsolatedPawns = 0;
-        if (!pawnsOnColumnTable.get(0).isEmpty() &&
-                pawnsOnColumnTable.get(1).isEmpty()) {
-            numIsolatedPawns += pawnsOnColumnTable.get(0).size();
-        }
-        for (int i = 1; i < BOARD_COLUMNS.size() - 1; i++) {
-            if (!pawnsOnColumnTable.get(i).isEmpty() &&
-                    (pawnsOnColumnTable.get(i - 1).isEmpty() && pawnsOnColumnTable.get(i + 1).isEmpty())) {
-                numIsolatedPawns += pawnsOnColumnTable.get(i).size();
-            }
-        }
-        if (!pawnsOnColumnTable.get(BOARD_COLUMNS.size() - 1).isEmpty() &&
-                pawnsOnColumnTable.get(BOARD_COLUMNS.size() - 2).isEmpty()) {
-            numIsolatedPawns += pawnsOnColumnTable.get(BOARD_COLUMNS.size() - 1).size();
-        }
-        return numIsolatedPawns * ISOLATED_PAWN_PENALTY;
+    int pawnStructureScore(final long playerPawns) {
+        return calculateIsolatedPawnPenalty(playerPawns);
     }
 
-    private static ListMultimap<Integer, Piece> createPawnsOnColumnTable(final Collection<Piece> playerPawns) {
-        final ListMultimap<Integer, Piece> table = ArrayListMultimap.create(8, 6); // Leaving out first and last ranks
-        for (int i = 0; i < BOARD_COLUMNS.size(); i++) {
-            for (final Piece playerPawn : playerPawns) {
-                if (BOARD_COLUMNS.get(i)[playerPawn.getPiecePosition()]) {
-                    table.put(i, playerPawn);
-                }
+    private static int calculateIsolatedPawnPenalty(final long playerPawns) {
+        int numIsolatedPawns = 0;
+        for (int i = 0; i < BoardUtils.NUM_TILES_PER_ROW; i++) {
+            final long pawnsOnColumn = playerPawns & BoardUtils.COLUMN_MASKS[i];
+            if (pawnsOnColumn != 0 && (playerPawns & ADJACENT_COLUMN_MASKS[i]) == 0) {
+                numIsolatedPawns += Long.bitCount(pawnsOnColumn);
             }
         }
-        return table;
+        return numIsolatedPawns * ISOLATED_PAWN_PENALTY;
     }
 }
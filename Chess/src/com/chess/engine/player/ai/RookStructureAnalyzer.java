@@ -1,19 +1,10 @@
 package com.chess.engine.player.ai;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.chess.engine.BoardUtils;
-import com.chess.engine.board.Board;
-import com.chess.engine.pieces.Piece;
-import com.chess.engine.player.Player;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
 
 public final class RookStructureAnalyzer {
 
     private static final RookStructureAnalyzer INSTANCE = new RookStructureAnalyzer();
-    private static final ImmutableList<boolean[]> BOARD_COLUMNS = initColumns();
     private static final int OPEN_COLUMN_ROOK_BONUS = 25;
     private static final int NO_BONUS = 0;
 
@@ -24,62 +15,23 @@ public final class RookStructureAnalyzer {
         return INSTANCE;
     }
 
-    private static ImmutableList<boolean[]> initColumns() {
-        final List<boolean[]> columns = new ArrayList<>();
-        columns.add(BoardUtils.FIRST_COLUMN);
-        columns.add(BoardUtils.SECOND_COLUMN);
-        columns.add(BoardUtils.THIRD_COLUMN);
-        columns.add(BoardUtils.FOURTH_COLUMN);
-        columns.add(BoardUtils.FIFTH_COLUMN);
-        columns.add(BoardUtils.SIXTH_COLUMN);
-        columns.add(BoardUtils.SEVENTH_COLUMN);
-        columns.add(BoardUtils.EIGHTH_COLUMN);
-        return ImmutableList.copyOf(columns);
-    }
-
-    int rookStructureScore(final Board board,
-                                  final Player player) {
-        final List<Integer> rookLocations = calculateRookLocations(player);
-        return calculateOpenFileRookBonus(board, rookLocations);
-    }
-
-    private static List<Integer> calculateRookLocations(final Player player) {
-        final Builder<Integer> playerRookLocations = new Builder<>();
-        for(final Piece piece : player.getActivePieces()) {
-            if(piece.getPieceType().isRook()) {
-                playerRookLocations.add(piece.getPiecePosition());
-            }
-        }
-        return playerRookLocations.build();
+    int rookStructureScore(final long allPieces,
+                           final long playerRooks) {
+        return calculateOpenFileRookBonus(allPieces, playerRooks);
     }
 
-    private static int calculateOpenFileRookBonus(final Board board,
-                                                  final List<Integer> rookLocations) {
+    private static int calculateOpenFileRookBonus(final long allPieces,
+                                                  final long playerRooks) {
         int bonus = NO_BONUS;
-        for(final Integer rookLocation : rookLocations) {
-            final int[] piecesOnColumn = countPiecesOnColumn(board);
+        long rooks = playerRooks;
+        while(rooks != 0) {
+            final int rookLocation = Long.numberOfTrailingZeros(rooks);
             final int rookColumn = rookLocation/8;
-            for(int i = 0; i < piecesOnColumn.length; i++) {
-                if(piecesOnColumn[i] == 1 && i == rookColumn){
-                    bonus += OPEN_COLUMN_ROOK_BONUS;
-                }
-
+            if(Long.bitCount(allPieces & BoardUtils.COLUMN_MASKS[rookColumn]) == 1){
+                bonus += OPEN_COLUMN_ROOK_BONUS;
             }
+            rooks &= rooks - 1;
         }
         return bonus;
     }
-
-    private static int[] countPiecesOnColumn(final Board board) {
-        final int[] piecesOnColumnTable = new int[BOARD_COLUMNS.size()];
-        for(final Piece piece : board.getAllPieces()) {
-            for(int i = 0 ; i < BOARD_COLUMNS.size(); i++) {
-                if(BOARD_COLUMNS.get(i)[piece.getPiecePosition()]) {
-                    piecesOnColumnTable[i]++;
-                }
-            }
-        }
-        return piecesOnColumnTable;
-    }
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.chess.engine.player.ai;
+
+/*
+ * Forcing moves the search looks one ply further after, so a fixed depth does
+ * not stop in the middle of a sequence the opponent cannot avoid.
+ */
+public enum SearchExtension {
+    //The move gives check
+    CHECK,
+    //The move captures back on the square the previous move captured on
+    RECAPTURE,
+    //A pawn reaches the rank before its promotion rank
+    PAWN_TO_SEVENTH
+}
@@ -0,0 +1,90 @@
+package com.chess.engine.player.ai;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/*
+ * The tunable knobs of the selective search, fixed for the lifetime of a
+ * strategy and shared read-only by all of its workers. Tables are indexed by
+ * the remaining depth; lookups past the end of a table reuse its last entry.
+ */
+final class SearchParameters {
+
+    static final int DEFAULT_NULL_MOVE_REDUCTION = 2;
+    static final int[] DEFAULT_FUTILITY_MARGINS = {0, 250, 500};
+    static final int DEFAULT_EXTENSION_BUDGET = 2;
+
+    private static final int LATE_MOVE_TABLE_DEPTH = 64;
+    private static final int LATE_MOVE_TABLE_MOVES = 64;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_NUMBER = 4;
+
+    private final int nullMoveReduction;
+    private final int[][] lateMoveReductions;
+    private final int[] futilityMargins;
+    private final Set<SearchExtension> extensions;
+    private final int extensionBudget;
+
+    SearchParameters(final int nullMoveReduction,
+                     final int[][] lateMoveReductions,
+                     final int[] futilityMargins,
+                     final Set<SearchExtension> extensions,
+                     final int extensionBudget) {
+        if (nullMoveReduction < 0) {
+            throw new RuntimeException("Null move reduction cannot be negative, got " + nullMoveReduction);
+        }
+        if (extensionBudget < 0) {
+            throw new RuntimeException("Extension budget cannot be negative, got " + extensionBudget);
+        }
+        this.nullMoveReduction = nullMoveReduction;
+        this.lateMoveReductions = lateMoveReductions.clone();
+        for (int depth = 0; depth < this.lateMoveReductions.length; depth++) {
+            this.lateMoveReductions[depth] = this.lateMoveReductions[depth].clone();
+        }
+        this.futilityMargins = futilityMargins.clone();
+        this.extensions = extensions.isEmpty() ? EnumSet.noneOf(SearchExtension.class) : EnumSet.copyOf(extensions);
+        this.extensionBudget = extensionBudget;
+    }
+
+    int getNullMoveReduction() {
+        return this.nullMoveReduction;
+    }
+
+    //How many plies less the moveNumber-th legal move (counting from 1) is searched with; never below depth 1
+    int getLateMoveReduction(final int depth,
+                             final int moveNumber) {
+        if (this.lateMoveReductions.length == 0) {
+            return 0;
+        }
+        final int[] reductions = this.lateMoveReductions[Math.min(depth, this.lateMoveReductions.length - 1)];
+        if (reductions.length == 0) {
+            return 0;
+        }
+        return Math.max(0, Math.min(reductions[Math.min(moveNumber, reductions.length - 1)], depth - 2));
+    }
+
+    //Quiet moves cannot lift a node whose static evaluation is this far behind the bound; 0 means never futile
+    int getFutilityMargin(final int depth) {
+        return depth < this.futilityMargins.length ? this.futilityMargins[depth] : 0;
+    }
+
+    boolean isExtended(final SearchExtension extension) {
+        return this.extensions.contains(extension);
+    }
+
+    //Extra plies any one path from the root may gain, however many forcing moves it contains
+    int getExtensionBudget() {
+        return this.extensionBudget;
+    }
+
+    //Nothing for the first moves or near the horizon, then growing with the logarithm of both depth and move number
+    static int[][] defaultLateMoveReductions() {
+        final int[][] reductions = new int[LATE_MOVE_TABLE_DEPTH][LATE_MOVE_TABLE_MOVES];
+        for (int depth = LATE_MOVE_MIN_DEPTH; depth < LATE_MOVE_TABLE_DEPTH; depth++) {
+            for (int moveNumber = LATE_MOVE_MIN_NUMBER; moveNumber < LATE_MOVE_TABLE_MOVES; moveNumber++) {
+                reductions[depth][moveNumber] = (int) (0.5 + Math.log(depth) * Math.log(moveNumber) / 2.25);
+            }
+        }
+        return reductions;
+    }
+}
@@ -0,0 +1,224 @@
+package com.chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * What the last search of a MoveStrategy did. Every search thread fills its own
+ * instance, so counting needs no synchronization; the strategy adds them up
+ * once the threads have finished.
+ */
+public final class SearchStatistics {
+
+    private long nodes;
+    private long evaluations;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private long nullMoves;
+    private long nullMoveCutoffs;
+    private long lateMoveReductions;
+    private long lateMoveReSearches;
+    private long futilityPrunes;
+    private long losingCapturePrunes;
+    private long extensions;
+    private long transpositionProbes;
+    private long transpositionHits;
+    private int selectiveDepth;
+    private long executionTime;
+    private final List<Iteration> iterations = new ArrayList<>();
+
+    void addNode(final int ply) {
+        this.nodes++;
+        if (ply > this.selectiveDepth) {
+            this.selectiveDepth = ply;
+        }
+    }
+
+    void addEvaluation() {
+        this.evaluations++;
+    }
+
+    void addBetaCutoff(final boolean isFirstMove) {
+        this.betaCutoffs++;
+        if (isFirstMove) {
+            this.firstMoveCutoffs++;
+        }
+    }
+
+    void addNullMove(final boolean isCutoff) {
+        this.nullMoves++;
+        if (isCutoff) {
+            this.nullMoveCutoffs++;
+        }
+    }
+
+    void addLateMoveReduction(final boolean isReSearched) {
+        this.lateMoveReductions++;
+        if (isReSearched) {
+            this.lateMoveReSearches++;
+        }
+    }
+
+    void addFutilityPrune() {
+        this.futilityPrunes++;
+    }
+
+    void addLosingCapturePrune(final int captureCount) {
+        this.losingCapturePrunes += captureCount;
+    }
+
+    void addExtension() {
+        this.extensions++;
+    }
+
+    void addTranspositionProbe(final boolean isHit) {
+        this.transpositionProbes++;
+        if (isHit) {
+            this.transpositionHits++;
+        }
+    }
+
+    void addIteration(final int depth,
+                      final long time,
+                      final long iterationNodes) {
+        this.iterations.add(new Iteration(depth, time, iterationNodes));
+    }
+
+    void add(final SearchStatistics other) {
+        this.nodes += other.nodes;
+        this.evaluations += other.evaluations;
+        this.betaCutoffs += other.betaCutoffs;
+        this.firstMoveCutoffs += other.firstMoveCutoffs;
+        this.nullMoves += other.nullMoves;
+        this.nullMoveCutoffs += other.nullMoveCutoffs;
+        this.lateMoveReductions += other.lateMoveReductions;
+        this.lateMoveReSearches += other.lateMoveReSearches;
+        this.futilityPrunes += other.futilityPrunes;
+        this.losingCapturePrunes += other.losingCapturePrunes;
+        this.extensions += other.extensions;
+        this.transpositionProbes += other.transpositionProbes;
+        this.transpositionHits += other.transpositionHits;
+        this.selectiveDepth = Math.max(this.selectiveDepth, other.selectiveDepth);
+    }
+
+    void setExecutionTime(final long executionTime) {
+        this.executionTime = executionTime;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getEvaluations() {
+        return this.evaluations;
+    }
+
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    //Share of the cutoffs caused by the first move searched, a measure of the move ordering
+    public double getFirstMoveCutoffRate() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    //Nodes pruned because passing the turn still failed high; not part of getBetaCutoffs
+    //Null move searches tried, whether or not they failed high
+    public long getNullMoves() {
+        return this.nullMoves;
+    }
+
+    public long getNullMoveCutoffs() {
+        return this.nullMoveCutoffs;
+    }
+
+    public long getLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    //Reduced moves that beat the bound and had to be searched again at full depth
+    public long getLateMoveReSearches() {
+        return this.lateMoveReSearches;
+    }
+
+    public long getFutilityPrunes() {
+        return this.futilityPrunes;
+    }
+
+    //Quiescence captures skipped because they lose material by static exchange
+    public long getLosingCapturePrunes() {
+        return this.losingCapturePrunes;
+    }
+
+    //Forcing moves searched one ply deeper
+    public long getExtensions() {
+        return this.extensions;
+    }
+
+    public long getTranspositionProbes() {
+        return this.transpositionProbes;
+    }
+
+    public long getTranspositionHits() {
+        return this.transpositionHits;
+    }
+
+    //Deepest ply reached, quiescence search included
+    public int getSelectiveDepth() {
+        return this.selectiveDepth;
+    }
+
+    public long getExecutionTime() {
+        return this.executionTime;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.executionTime);
+    }
+
+    //The completed iterations, shallowest first
+    public List<Iteration> getIterations() {
+        return Collections.unmodifiableList(this.iterations);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d/%d, nodes %d, %d ms, %d nps, evaluations %d, cutoffs %d (%.1f%% first move), " +
+                        "null move cutoffs %d/%d, reductions %d (%d re-searched), futility prunes %d, " +
+                        "losing captures skipped %d, extensions %d, tt hits %d/%d",
+                this.iterations.isEmpty() ? 0 : this.iterations.get(this.iterations.size() - 1).getDepth(),
+                this.selectiveDepth, this.nodes, this.executionTime, getNodesPerSecond(), this.evaluations,
+                this.betaCutoffs, 100 * getFirstMoveCutoffRate(), this.nullMoveCutoffs, this.nullMoves, this.lateMoveReductions,
+                this.lateMoveReSearches, this.futilityPrunes, this.losingCapturePrunes, this.extensions, this.transpositionHits,
+                this.transpositionProbes);
+    }
+
+    //Time and nodes from the start of the search until the iteration finished
+    public static final class Iteration {
+
+        private final int depth;
+        private final long time;
+        private final long nodes;
+
+        private Iteration(final int depth,
+                          final long time,
+                          final long nodes) {
+            this.depth = depth;
+            this.time = time;
+            this.nodes = nodes;
+        }
+
+        public int getDepth() {
+            return this.depth;
+        }
+
+        public long getTime() {
+            return this.time;
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+    }
+}
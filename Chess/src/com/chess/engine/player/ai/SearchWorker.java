@@ -0,0 +1,403 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * The alpha-beta recursion of one search thread. Every worker owns its board
+ * and move ordering tables; the transposition table and the stop signal are
+ * shared by all workers of a search.
+ */
+final class SearchWorker {
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int DELTA_MARGIN = 200;
+
+    //Scores stay strictly inside (-INFINITE, INFINITE), so a window bound can always be negated
+    static final int INFINITE = Integer.MAX_VALUE;
+
+    private final SearchBoard board;
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveSorter moveSorter;
+    private final AtomicBoolean stopSignal;
+    private final long deadline;
+    private final SearchParameters parameters;
+    private final SearchStatistics statistics;
+    private final int[][] moveLists = new int[SearchBoard.MAX_PLY][];
+    private final int[][] scoreLists = new int[SearchBoard.MAX_PLY][];
+    private final int[][] pvTable = new int[SearchBoard.MAX_PLY][];
+    private final int[] pvLength = new int[SearchBoard.MAX_PLY + 1];
+    private int rootScore;
+
+    SearchWorker(final SearchBoard board,
+                 final BoardEvaluator evaluator,
+                 final TranspositionTable transpositionTable,
+                 final MoveSorter moveSorter,
+                 final AtomicBoolean stopSignal,
+                 final long deadline,
+                 final SearchParameters parameters) {
+        this.board = board;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.moveSorter = moveSorter;
+        this.stopSignal = stopSignal;
+        this.deadline = deadline;
+        this.parameters = parameters;
+        this.statistics = new SearchStatistics();
+        this.moveSorter.newSearch();
+    }
+
+    SearchStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    boolean isStopped() {
+        return this.stopSignal.get();
+    }
+
+    //Searches the root moves in order within the window and returns the index of the best one. The first move
+    //gets the full window, every later one a null window that only proves it is no better, re-searched if it is.
+    //The root score is relative to the side to move and only a bound when it lands on alpha or at or above beta.
+    int searchRoot(final int[] rootSearchMoves,
+                   final int rootMoveCount,
+                   final int depth,
+                   final int alpha,
+                   final int beta) {
+        moveList(0);
+        this.pvLength[0] = 0;
+        int bestIndex = 0;
+        int currentAlpha = alpha;
+        final int previousMove = this.board.getLastMove();
+        for (int i = 0; i < rootMoveCount; i++) {
+            final int move = rootSearchMoves[i];
+            this.board.makeMove(move);
+            final int extension = extension(move, previousMove, this.board.isInCheck(), 0);
+            int value;
+            if (i == 0) {
+                value = -negamax(-beta, -currentAlpha, depth - 1 + extension, 1, extension);
+            } else {
+                value = -negamax(-currentAlpha - 1, -currentAlpha, depth - 1 + extension, 1, extension);
+                if (value > currentAlpha && value < beta) {
+                    value = -negamax(-beta, -currentAlpha, depth - 1 + extension, 1, extension);
+                }
+            }
+            this.board.unmakeMove();
+            if (isStopped()) {
+                break;
+            }
+            if (value > currentAlpha) {
+                currentAlpha = value;
+                bestIndex = i;
+                updatePrincipalVariation(0, move);
+                if (currentAlpha >= beta) {
+                    break;
+                }
+            }
+        }
+        this.rootScore = currentAlpha;
+        return bestIndex;
+    }
+
+    //Exact score of a single root move for the side playing it: the full window keeps it independent of the other root moves
+    int searchMove(final int rootMove,
+                   final int depth) {
+        moveList(0);
+        this.pvLength[0] = 0;
+        final int previousMove = this.board.getLastMove();
+        this.board.makeMove(rootMove);
+        final int extension = extension(rootMove, previousMove, this.board.isInCheck(), 0);
+        final int value = -negamax(-INFINITE, INFINITE, depth - 1 + extension, 1, extension);
+        this.board.unmakeMove();
+        updatePrincipalVariation(0, rootMove);
+        return value;
+    }
+
+    int getRootScore() {
+        return this.rootScore;
+    }
+
+    //The expected line of play from the root, as found by the last searchRoot or searchMove
+    int[] getPrincipalVariation() {
+        final int[] line = new int[this.pvLength[0]];
+        System.arraycopy(this.pvTable[0], 0, line, 0, line.length);
+        return line;
+    }
+
+    //Polls the clock every TIME_CHECK_INTERVAL nodes; once stopped, every node on the path unwinds without storing
+    private boolean isTimeUp() {
+        if (isStopped()) {
+            return true;
+        }
+        if (this.statistics.getNodes() % TIME_CHECK_INTERVAL == 0 && System.currentTimeMillis() >= this.deadline) {
+            this.stopSignal.set(true);
+            return true;
+        }
+        return false;
+    }
+
+    //Negamax: every score is relative to the side to move, so a child's score is negated on the way up.
+    //Principal variation search assumes the first ordered move is best and proves the rest worse with null windows.
+    //A node without legal moves is checkmate or stalemate and is scored by the evaluator, as before.
+    //Extended counts the plies the extensions have already added on the path from the root.
+    private int negamax(final int alpha,
+                        final int beta,
+                        final int depth,
+                        final int ply,
+                        final int extended) {
+        this.statistics.addNode(ply);
+        this.pvLength[ply] = ply;
+        if (isTimeUp()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return quiescence(alpha, beta, ply);
+        }
+
+        final long entry = this.transpositionTable.probe(this.board.getZobristHash());
+        this.statistics.addTranspositionProbe(entry != 0L);
+        if (isCutoff(entry, alpha, beta, depth)) {
+            return TranspositionTable.getScore(entry);
+        }
+        //Alpha is always below INFINITE, so unlike beta - alpha this cannot overflow on an unbounded window
+        final boolean isPvNode = beta > alpha + 1;
+        final boolean inCheck = this.board.isInCheck();
+        if (!isPvNode && isNullMoveAllowed(depth, inCheck)) {
+            this.board.makeNullMove();
+            final int value = -negamax(-beta, -beta + 1, depth - 1 - this.parameters.getNullMoveReduction(), ply + 1, extended);
+            this.board.unmakeNullMove();
+            if (isStopped()) {
+                return 0;
+            }
+            this.statistics.addNullMove(value >= beta);
+            if (value >= beta) {
+                return beta;
+            }
+        }
+        final int futilityMargin = this.parameters.getFutilityMargin(depth);
+        final boolean isFutile = futilityMargin > 0 && !inCheck && alpha != -INFINITE &&
+                evaluate(depth) + futilityMargin <= alpha;
+        int currentAlpha = alpha;
+        int bestMove = SearchBoard.NO_MOVE;
+        int legalMoveCount = 0;
+        final int previousMove = this.board.getLastMove();
+        final int[] moves = moveList(ply);
+        final int[] scores = this.scoreLists[ply];
+        final int moveCount = this.board.generateMoves(moves);
+        this.moveSorter.scoreMoves(this.board, moves, scores, moveCount, TranspositionTable.getMove(entry), ply);
+        for (int i = 0; i < moveCount; i++) {
+            final int move = MoveSorter.pickNextMove(moves, scores, i, moveCount);
+            if (this.board.makeMove(move)) {
+                legalMoveCount++;
+                final boolean isQuiet = !SearchBoard.isCapture(move) && !SearchBoard.isPromotion(move);
+                final boolean givesCheck = this.board.isInCheck();
+                if (isFutile && isQuiet && !givesCheck && legalMoveCount > 1) {
+                    this.board.unmakeMove();
+                    this.statistics.addFutilityPrune();
+                    continue;
+                }
+                final int extension = extension(move, previousMove, givesCheck, extended);
+                final int newDepth = depth - 1 + extension;
+                int value;
+                if (legalMoveCount == 1) {
+                    value = -negamax(-beta, -currentAlpha, newDepth, ply+1, extended+extension);
+                } else {
+                    final int reduction = isQuiet && !inCheck && !givesCheck && extension == 0 ?
+                            this.parameters.getLateMoveReduction(depth, legalMoveCount) : 0;
+                    value = -negamax(-currentAlpha - 1, -currentAlpha, newDepth-reduction, ply+1, extended+extension);
+                    if (reduction > 0) {
+                        this.statistics.addLateMoveReduction(value > currentAlpha);
+                        if (value > currentAlpha) {
+                            value = -negamax(-currentAlpha - 1, -currentAlpha, newDepth, ply+1, extended+extension);
+                        }
+                    }
+                    if (value > currentAlpha && value < beta) {
+                        value = -negamax(-beta, -currentAlpha, newDepth, ply+1, extended+extension);
+                    }
+                }
+                this.board.unmakeMove();
+                if (isStopped()) {
+                    return 0;
+                }
+                if (value > currentAlpha) {
+                    currentAlpha = value;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                }
+                if(currentAlpha >= beta) {
+                    this.moveSorter.recordCutoff(this.board, move, depth, ply);
+                    this.statistics.addBetaCutoff(legalMoveCount == 1);
+                    break;
+                }
+            }
+        }
+        if (legalMoveCount == 0) {
+            currentAlpha = evaluate(depth);
+        }
+        storeEntry(bestMove, currentAlpha, alpha, beta, depth);
+        return currentAlpha;
+    }
+
+    //One ply more for a forcing move just made, as long as the path from the root has extension budget left
+    private int extension(final int move,
+                          final int previousMove,
+                          final boolean givesCheck,
+                          final int extended) {
+        if (extended >= this.parameters.getExtensionBudget()) {
+            return 0;
+        }
+        if ((givesCheck && this.parameters.isExtended(SearchExtension.CHECK)) ||
+                (isRecapture(move, previousMove) && this.parameters.isExtended(SearchExtension.RECAPTURE)) ||
+                (isPawnToSeventh(move) && this.parameters.isExtended(SearchExtension.PAWN_TO_SEVENTH))) {
+            this.statistics.addExtension();
+            return 1;
+        }
+        return 0;
+    }
+
+    private static boolean isRecapture(final int move,
+                                       final int previousMove) {
+        return SearchBoard.isCapture(move) && SearchBoard.isCapture(previousMove) &&
+               SearchBoard.getTo(move) == SearchBoard.getTo(previousMove);
+    }
+
+    //Called after the move is made, so the pawn already stands on its destination and the other side is to move
+    private boolean isPawnToSeventh(final int move) {
+        final int to = SearchBoard.getTo(move);
+        if (this.board.getPieceType(to) != Piece.PieceType.PAWN) {
+            return false;
+        }
+        return this.board.getSideToMove().isBlack() ? BoardUtils.SEVENTH_RANK[to] : BoardUtils.SECOND_RANK[to];
+    }
+
+    //Past the horizon only captures and promotions are searched, so the evaluator never sees a piece left hanging.
+    //Captures that lose material by static exchange are skipped; standing pat is at least as good.
+    //The side to move may stand pat on the static evaluation; in check every evasion is searched instead.
+    private int quiescence(final int alpha,
+                           final int beta,
+                           final int ply) {
+        this.statistics.addNode(ply);
+        this.pvLength[ply] = ply;
+        if (isTimeUp()) {
+            return 0;
+        }
+        final boolean inCheck = this.board.isInCheck();
+        final int standPat = inCheck ? alpha : evaluate(0);
+        if (standPat >= beta) {
+            return standPat;
+        }
+        int currentAlpha = Math.max(alpha, standPat);
+        boolean hasLegalMove = false;
+        final int[] moves = moveList(ply);
+        final int[] scores = this.scoreLists[ply];
+        final int moveCount = inCheck ? this.board.generateMoves(moves) : this.board.generateCaptures(moves);
+        this.moveSorter.scoreMoves(this.board, moves, scores, moveCount, SearchBoard.NO_MOVE, ply);
+        for (int i = 0; i < moveCount; i++) {
+            final int move = MoveSorter.pickNextMove(moves, scores, i, moveCount);
+            //Losing captures sort last, so once one comes up only losing captures remain
+            if (!inCheck && MoveSorter.isLosingCapture(scores[i])) {
+                this.statistics.addLosingCapturePrune(moveCount - i);
+                break;
+            }
+            if (!inCheck && standPat + captureGain(this.board, move) + DELTA_MARGIN <= currentAlpha) {
+                continue;
+            }
+            if (this.board.makeMove(move)) {
+                hasLegalMove = true;
+                final int value = -quiescence(-beta, -currentAlpha, ply+1);
+                this.board.unmakeMove();
+                if (isStopped()) {
+                    return 0;
+                }
+                currentAlpha = Math.max(currentAlpha, value);
+                if(currentAlpha >= beta)
+                    break;
+            }
+        }
+        return inCheck && !hasLegalMove ? evaluate(0) : currentAlpha;
+    }
+
+    //Triangular table: the line below this ply is the move followed by the line its child just reported
+    private void updatePrincipalVariation(final int ply,
+                                          final int move) {
+        final int[] line = this.pvTable[ply];
+        line[ply] = move;
+        final int childLength = this.pvLength[ply + 1];
+        if (childLength > ply + 1) {
+            System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - ply - 1);
+        }
+        this.pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    //Null-move pruning: if the side to move can pass and a reduced search still fails high, a real move would too.
+    //The caller only tries it at null window nodes, so never against an unbounded window. Not twice in a row,
+    //not in check and not with only king and pawns, where zugzwang makes passing better than any legal move.
+    private boolean isNullMoveAllowed(final int depth,
+                                      final boolean inCheck) {
+        return this.parameters.getNullMoveReduction() > 0 &&
+               depth > this.parameters.getNullMoveReduction() &&
+               !inCheck &&
+               !this.board.isAfterNullMove() &&
+               this.board.hasNonPawnMaterial(this.board.getSideToMove());
+    }
+
+    //Every ply generates into its own list, allocated the first time the search gets that deep
+    private int[] moveList(final int ply) {
+        if (this.moveLists[ply] == null) {
+            this.moveLists[ply] = new int[SearchBoard.MAX_MOVES];
+            this.scoreLists[ply] = new int[SearchBoard.MAX_MOVES];
+            this.pvTable[ply] = new int[SearchBoard.MAX_PLY];
+        }
+        return this.moveLists[ply];
+    }
+
+    //The evaluator scores for white; negamax wants the score of the side to move
+    private int evaluate(final int depth) {
+        this.statistics.addEvaluation();
+        final int score = this.evaluator.evaluate(this.board, depth);
+        return this.board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    //Delta pruning: the most a capture can swing the material balance, before any positional change
+    private static int captureGain(final SearchBoard board,
+                                   final int move) {
+        if (SearchBoard.isPromotion(move)) {
+            return SearchBoard.getPromotionType(move).getPieceValue();
+        }
+        final Piece.PieceType victim = board.getPieceType(SearchBoard.getTo(move));
+        return victim == null ? Piece.PieceType.PAWN.getPieceValue() : victim.getPieceValue();
+    }
+
+    private static boolean isCutoff(final long entry,
+                                    final int alpha,
+                                    final int beta,
+                                    final int depth) {
+        if (entry == 0L || TranspositionTable.getDepth(entry) < depth) {
+            return false;
+        }
+        final int score = TranspositionTable.getScore(entry);
+        switch (TranspositionTable.getBound(entry)) {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return score >= beta;
+            case TranspositionTable.UPPER_BOUND:
+                return score <= alpha;
+            default:
+                return false;
+        }
+    }
+
+    private void storeEntry(final int bestMove,
+                            final int score,
+                            final int alpha,
+                            final int beta,
+                            final int depth) {
+        final int bound = score <= alpha ? TranspositionTable.UPPER_BOUND :
+                          score >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        this.transpositionTable.store(this.board.getZobristHash(), bestMove, score, depth, bound);
+    }
+}
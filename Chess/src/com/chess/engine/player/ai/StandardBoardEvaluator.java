@@ -1,6 +1,8 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.PieceColor;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.ai.KingSafetyAnalyzer.KingDistance;
@@ -20,6 +22,13 @@ public final class StandardBoardEvaluator
         return score(board, board.whitePlayer(), depth) - score(board, board.blackPlayer(), depth);
     }
 
+    //Same terms as the Board evaluation, computed from the search board's masks
+    @Override
+    public int evaluate(final SearchBoard board,
+                        final int depth) {
+        return score(board, PieceColor.WHITE, depth) - score(board, PieceColor.BLACK, depth);
+    }
+
     private static int score(final Board board,
                              final Player player,
                              final int depth) {
@@ -28,10 +37,22 @@ public final class StandardBoardEvaluator
                 castle(player) +
                 pieceValueAndLocation(player) +
                 kingSafety(player) +
-                pawnStructure(player) +
+                pawnStructure(board, player) +
                 rookStructure(board, player);
     }
 
+    private static int score(final SearchBoard board,
+                             final PieceColor color,
+                             final int depth) {
+        return  mobility(board, color) +
+                checkmate(board, color, depth) +
+                castle(board, color) +
+                pieceValueAndLocation(board, color) +
+                kingSafety(board, color) +
+                pawnStructure(board, color) +
+                rookStructure(board, color);
+    }
+
     private static int pieceValueAndLocation(final Player player) {
         int pieceValuationScore = 0;
         for (final Piece piece : player.getActivePieces()) {
@@ -40,15 +61,65 @@ public final class StandardBoardEvaluator
         return pieceValuationScore;
     }
 
+    private static int pieceValueAndLocation(final SearchBoard board,
+                                             final PieceColor color) {
+        int pieceValuationScore = 0;
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            long pieces = board.getPieceBitBoard(color, pieceType);
+            while (pieces != 0) {
+                final int position = Long.numberOfTrailingZeros(pieces);
+                pieceValuationScore += pieceType.getPieceValue() + locationBonus(color, pieceType, position);
+                pieces &= pieces - 1;
+            }
+        }
+        return pieceValuationScore;
+    }
+
+    private static int locationBonus(final PieceColor color,
+                                     final Piece.PieceType pieceType,
+                                     final int position) {
+        switch (pieceType) {
+            case PAWN:
+                return color.pawnBonus(position);
+            case KNIGHT:
+                return color.knightBonus(position);
+            case BISHOP:
+                return color.bishopBonus(position);
+            case ROOK:
+                return color.rookBonus(position);
+            case QUEEN:
+                return color.queenBonus(position);
+            default:
+                return color.kingBonus(position);
+        }
+    }
+
     private static int mobility(final Player player) {
         return MOBILITY_BONUS * player.getLegalMoves().size();
     }
 
+    private static int mobility(final SearchBoard board,
+                                final PieceColor color) {
+        return MOBILITY_BONUS * board.countMoves(color);
+    }
+
     private static int checkmate(final Player player,
                                  final int depth) {
         return player.getOpponent().isInCheckMate() ? CHECK_MATE_BONUS  * depthBonus(depth) : check(player);
     }
 
+    //Only the side to move can be mated; the other side being in check would be an illegal position
+    private static int checkmate(final SearchBoard board,
+                                 final PieceColor color,
+                                 final int depth) {
+        final PieceColor opponent = color.getOppositeColor();
+        if (!board.isInCheck(opponent)) {
+            return 0;
+        }
+        return board.getSideToMove() == opponent && !board.hasLegalMoves() ?
+                CHECK_MATE_BONUS * depthBonus(depth) : CHECK_BONUS;
+    }
+
     private static int check(final Player player) {
         return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
     }
@@ -66,20 +137,48 @@ public final class StandardBoardEvaluator
         return player.isCastled() ? CASTLED_BONUS : castleCapable(player);
     }
 
+    //Player.isCastled is never set, so only the castle rights count here as well
+    private static int castle(final SearchBoard board,
+                              final PieceColor color) {
+        return (board.isKingSideCastleCapable(color) || board.isQueenSideCastleCapable(color)) ?
+                CASTLE_CAPABLE_BONUS : 0;
+    }
+
     //Penalty for isolated pawns(no pawn adjacent to a pawn)
-    private static int pawnStructure(final Player player) {
-        return PawnStructureAnalyzer.get().pawnStructureScore(player);
+    private static int pawnStructure(final Board board, final Player player) {
+        return PawnStructureAnalyzer.get().pawnStructureScore(
+                board.getPieceBitBoard(player.getPieceColor(), Piece.PieceType.PAWN));
+    }
+
+    private static int pawnStructure(final SearchBoard board, final PieceColor color) {
+        return PawnStructureAnalyzer.get().pawnStructureScore(board.getPieceBitBoard(color, Piece.PieceType.PAWN));
     }
 
     //King is safe if enemies are not nearby
     private static int kingSafety(final Player player) {
-        final KingDistance kingDistance = KingSafetyAnalyzer.get().calculateKingTropism(player);
-        return ((kingDistance.getEnemyPiece().getPieceValue() / 100) * kingDistance.getDistance());
+        return kingSafety(KingSafetyAnalyzer.get().calculateKingTropism(player));
+    }
+
+    private static int kingSafety(final SearchBoard board, final PieceColor color) {
+        return kingSafety(KingSafetyAnalyzer.get().calculateKingTropism(board, color));
+    }
+
+    private static int kingSafety(final KingDistance kingDistance) {
+        if (kingDistance.getEnemyPieceType() == null) {
+            return 0;
+        }
+        return ((kingDistance.getEnemyPieceType().getPieceValue() / 100) * kingDistance.getDistance());
     }
 
     //Rook on an open file has advantage
     private static int rookStructure(final Board board, final Player player) {
-        return RookStructureAnalyzer.get().rookStructureScore(board, player);
+        return RookStructureAnalyzer.get().rookStructureScore(board.getOccupancy(),
+                board.getPieceBitBoard(player.getPieceColor(), Piece.PieceType.ROOK));
+    }
+
+    private static int rookStructure(final SearchBoard board, final PieceColor color) {
+        return RookStructureAnalyzer.get().rookStructureScore(board.getOccupancy(),
+                board.getPieceBitBoard(color, Piece.PieceType.ROOK));
     }
 
-}
\ No newline at end of file
+}
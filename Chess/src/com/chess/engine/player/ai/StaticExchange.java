@@ -0,0 +1,91 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.MagicBitBoards;
+import com.chess.engine.PieceColor;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Static exchange evaluation: the material a capture wins once both sides have
+ * recaptured on the destination square with their least valuable attacker for
+ * as long as it pays. Every capture uncovers the sliders lined up behind it
+ * (x-rays), so batteries are counted. Pins and checks are ignored. Each
+ * instance keeps its own swap list and belongs to one search thread.
+ */
+final class StaticExchange {
+
+    private static final Piece.PieceType[] ATTACKER_ORDER = {
+            Piece.PieceType.PAWN, Piece.PieceType.KNIGHT, Piece.PieceType.BISHOP,
+            Piece.PieceType.ROOK, Piece.PieceType.QUEEN, Piece.PieceType.KING
+    };
+    private static final int MAX_EXCHANGES = 32;
+
+    private final int[] gain = new int[MAX_EXCHANGES];
+
+    //Material balance of the capture sequence started by the move, from the mover's point of view
+    int evaluate(final SearchBoard board,
+                 final int move) {
+        final int from = SearchBoard.getFrom(move);
+        final int to = SearchBoard.getTo(move);
+        final Piece.PieceType victim = board.getPieceType(to);
+        final Piece.PieceType promotion = SearchBoard.getPromotionType(move);
+        final int[] gain = this.gain;
+        long occupancy = board.getOccupancy() ^ BoardUtils.squareMask(from);
+        if (SearchBoard.isCapture(move) && victim == null) {
+            //En passant: the captured pawn is not on the destination square
+            occupancy ^= BoardUtils.squareMask(to - BoardUtils.NUM_TILES_PER_ROW *
+                    board.getSideToMove().getDirection());
+        }
+        gain[0] = SearchBoard.isCapture(move) ? (victim == null ? Piece.PieceType.PAWN : victim).getPieceValue() : 0;
+        int attackerValue = board.getPieceType(from).getPieceValue();
+        if (promotion != null) {
+            gain[0] += promotion.getPieceValue() - Piece.PieceType.PAWN.getPieceValue();
+            attackerValue = promotion.getPieceValue();
+        }
+
+        long bishopsAndQueens = 0L;
+        long rooksAndQueens = 0L;
+        long leapers = (BoardUtils.BLACK_PAWN_ATTACK_MASKS[to] & board.getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.PAWN)) |
+                       (BoardUtils.WHITE_PAWN_ATTACK_MASKS[to] & board.getPieceBitBoard(PieceColor.BLACK, Piece.PieceType.PAWN));
+        for (final PieceColor color : PieceColor.values()) {
+            final long queens = board.getPieceBitBoard(color, Piece.PieceType.QUEEN);
+            bishopsAndQueens |= board.getPieceBitBoard(color, Piece.PieceType.BISHOP) | queens;
+            rooksAndQueens |= board.getPieceBitBoard(color, Piece.PieceType.ROOK) | queens;
+            leapers |= (BoardUtils.KNIGHT_ATTACK_MASKS[to] & board.getPieceBitBoard(color, Piece.PieceType.KNIGHT)) |
+                       (BoardUtils.KING_ATTACK_MASKS[to] & board.getPieceBitBoard(color, Piece.PieceType.KING));
+        }
+
+        PieceColor side = board.getSideToMove().getOppositeColor();
+        int depth = 0;
+        while (depth + 1 < MAX_EXCHANGES) {
+            depth++;
+            //Speculative: what the side to capture ends up with if its capture is taken back
+            gain[depth] = attackerValue - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break;
+            }
+            //Recomputing the sliders against the shrinking occupancy reveals the x-ray attackers
+            final long attackers = (leapers |
+                    (MagicBitBoards.bishopAttacks(to, occupancy) & bishopsAndQueens) |
+                    (MagicBitBoards.rookAttacks(to, occupancy) & rooksAndQueens)) & occupancy;
+            final long sideAttackers = attackers & board.getOccupancy(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            for (final Piece.PieceType type : ATTACKER_ORDER) {
+                final long pieces = sideAttackers & board.getPieceBitBoard(side, type);
+                if (pieces != 0) {
+                    occupancy ^= Long.lowestOneBit(pieces);
+                    attackerValue = type.getPieceValue();
+                    break;
+                }
+            }
+            side = side.getOppositeColor();
+        }
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+}
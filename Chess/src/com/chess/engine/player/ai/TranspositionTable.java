@@ -0,0 +1,149 @@
+package com.chess.engine.player.ai;
+
+/*
+ * Fixed-size hash table of previously searched positions, indexed by the low
+ * bits of the Zobrist key. Every entry is two longs: the full key and a packed
+ * data word holding the best move, score, remaining depth, bound type and the
+ * search generation that wrote it. The key is stored xored with the data, so
+ * when threads race on a slot, a torn entry no longer matches its key and
+ * reads as a miss. That keeps the table lock-free.
+ */
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int MOVE_BITS = 16;
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long SCORE_MASK = 0xFFFFFFFFL;
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final long BOUND_MASK = 0x3L;
+    private static final int GENERATION_MASK = 0x3F;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;
+    private final ReplacementScheme replacementScheme;
+    private int generation;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB, ReplacementScheme.DEPTH_PREFERRED);
+    }
+
+    public TranspositionTable(final int sizeInMB,
+                              final ReplacementScheme replacementScheme) {
+        if(sizeInMB < 1) {
+            throw new RuntimeException("Transposition table needs at least 1 MB, got " + sizeInMB);
+        }
+        final long requestedEntries = (long) sizeInMB * 1024 * 1024 / BYTES_PER_ENTRY;
+        final int numEntries = (int) Long.highestOneBit(Math.min(requestedEntries, 1 << 30));
+        this.keys = new long[numEntries];
+        this.data = new long[numEntries];
+        this.indexMask = numEntries - 1;
+        this.replacementScheme = replacementScheme;
+        this.generation = 0;
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    public ReplacementScheme getReplacementScheme() {
+        return this.replacementScheme;
+    }
+
+    //Entries written by an earlier search stay probeable but become the first to be replaced
+    public void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    public void clear() {
+        for(int i = 0; i < this.keys.length; i++) {
+            this.keys[i] = 0L;
+            this.data[i] = 0L;
+        }
+        this.generation = 0;
+    }
+
+    //Returns the packed entry for the key, or 0 on a miss; only depths of one or more are stored so a hit is never 0
+    public long probe(final long key) {
+        final int index = (int) key & this.indexMask;
+        final long entry = this.data[index];
+        return (this.keys[index] ^ entry) == key ? entry : 0L;
+    }
+
+    public void store(final long key,
+                      final int move,
+                      final int score,
+                      final int depth,
+                      final int bound) {
+        if(depth < 1) {
+            return;
+        }
+        final int index = (int) key & this.indexMask;
+        final long current = this.data[index];
+        final boolean isSamePosition = (this.keys[index] ^ current) == key;
+        if(current != 0L && !isSamePosition &&
+           !this.replacementScheme.shouldReplace(getDepth(current), getGeneration(current) == this.generation, depth)) {
+            return;
+        }
+        //Keep the known best move of a position when a fail-low search has none to offer
+        final int bestMove = move == 0 && isSamePosition ? getMove(current) : move;
+        final long entry = (bestMove & MOVE_MASK) |
+                           ((score & SCORE_MASK) << SCORE_SHIFT) |
+                           ((depth & DEPTH_MASK) << DEPTH_SHIFT) |
+                           ((bound & BOUND_MASK) << BOUND_SHIFT) |
+                           ((long) this.generation << GENERATION_SHIFT);
+        this.keys[index] = key ^ entry;
+        this.data[index] = entry;
+    }
+
+    public static int getMove(final long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int getScore(final long entry) {
+        return (int) (entry >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int getBound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    private static int getGeneration(final long entry) {
+        return (int) (entry >>> GENERATION_SHIFT);
+    }
+
+    public enum ReplacementScheme {
+        ALWAYS_REPLACE {
+            @Override
+            boolean shouldReplace(final int storedDepth,
+                                  final boolean isCurrentSearch,
+                                  final int newDepth) {
+                return true;
+            }
+        },
+        DEPTH_PREFERRED {
+            @Override
+            boolean shouldReplace(final int storedDepth,
+                                  final boolean isCurrentSearch,
+                                  final int newDepth) {
+                return !isCurrentSearch || newDepth >= storedDepth;
+            }
+        };
+
+        abstract boolean shouldReplace(int storedDepth, boolean isCurrentSearch, int newDepth);
+    }
+}
@@ -2,6 +2,7 @@ package com.chess.gui;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.player.GameState;
 import com.chess.gui.Table.MoveLog;
 
 import javax.swing.*;
@@ -55,9 +56,9 @@ class GameHistoryPanel extends JPanel {
     }
 
     private String calculateCheckAndCheckMateHash(final Board board) {
-        if(board.currentPlayer().isInCheckMate()){
+        if(board.getGameState() == GameState.CHECKMATE){
             return "#";
-        } else if(board.currentPlayer().isInCheck()){
+        } else if(board.getGameState() == GameState.CHECK){
             return "+";
         }
         return "";
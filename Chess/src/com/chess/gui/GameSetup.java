@@ -23,6 +23,8 @@ class GameSetup extends JDialog {
     private PlayerType blackPlayerType;
     private int algorithmType;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
+    private JSpinner threadCountSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -67,6 +69,8 @@ class GameSetup extends JDialog {
         myPanel.add(miniMaxButton);
         myPanel.add(alphaBetaButton);
         this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (ms, 0 = fixed depth)", new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 100));
+        this.threadCountSpinner = addLabeledSpinner(myPanel, "Search Threads", new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors(), 1));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -129,4 +133,12 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    int getMoveTime() {
+        return (Integer)this.moveTimeSpinner.getValue();
+    }
+
+    int getThreadCount() {
+        return (Integer)this.threadCountSpinner.getValue();
+    }
 }
\ No newline at end of file
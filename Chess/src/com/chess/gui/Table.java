@@ -22,10 +22,12 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Move.MoveFactory;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.GameState;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.AlphaBetaPruning;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.chess.pgn.FenUtilities;
 import com.google.common.collect.Lists;
 import javafx.scene.control.Tab;
@@ -39,6 +41,7 @@ public final class Table extends Observable {
     private final GraphPanel graphPanel;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable;
     private Board chessBoard;
     private Move computerMove;
     private Tile sourceTile;
@@ -79,6 +82,7 @@ public final class Table extends Observable {
         this.moveLog = new MoveLog();
         this.addObserver(new TableGameAIWatcher());
         this.gameSetup = new GameSetup(this.gameFrame, true);
+        this.transpositionTable = new TranspositionTable();
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
@@ -126,6 +130,10 @@ public final class Table extends Observable {
         return this.gameSetup;
     }
 
+    private TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
     private boolean getHighlightLegalMoves() {
         return this.highlightLegalMoves;
     }
@@ -329,8 +337,7 @@ public final class Table extends Observable {
                         "DRAW by 3-fold repetition! ","Game Over",
                         JOptionPane.INFORMATION_MESSAGE);
             } else if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
-                    !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
-                    !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+                    !Table.get().getGameBoard().getGameState().isGameOver()) {
                 System.out.println(Table.get().getGameBoard().currentPlayer() + " is set to AI, thinking....");
                 final AIThinkTank thinkTank = new AIThinkTank();
                 thinkTank.execute();
@@ -338,8 +345,7 @@ public final class Table extends Observable {
 
             //System.out.println(FenUtilities.createFENfromBoard(Table.get().getGameBoard()));
 
-            if (Table.get().getGameBoard().currentPlayer().isInCheckMate() ||
-                    Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+            if (Table.get().getGameBoard().getGameState() == GameState.CHECKMATE) {
                 JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
                         "Game Over! " + 
                                 Table.get().getGameBoard().currentPlayer() + 
@@ -347,8 +353,7 @@ public final class Table extends Observable {
                         JOptionPane.INFORMATION_MESSAGE);
             }
 
-            if (Table.get().getGameBoard().currentPlayer().isInStaleMate() ||
-                    Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+            if (Table.get().getGameBoard().getGameState() == GameState.STALEMATE) {
                 JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
                         "Game Over! " + 
                                 Table.get().getGameBoard().currentPlayer() +
@@ -381,8 +386,15 @@ public final class Table extends Observable {
             if(Table.get().getGameSetup().getAlgorithmType() == 0)
                 strategy = new MiniMax(Table.get().getGameSetup().getSearchDepth());
             else
-                strategy = new AlphaBetaPruning(Table.get().getGameSetup().getSearchDepth());
+                strategy = new AlphaBetaPruning.Builder()
+                        .setSearchDepth(Table.get().getGameSetup().getSearchDepth())
+                        .setMoveTime(Table.get().getGameSetup().getMoveTime())
+                        .setThreadCount(Table.get().getGameSetup().getThreadCount())
+                        .setTranspositionTable(Table.get().getTranspositionTable())
+                        .build();
             bestMove = strategy.execute(Table.get().getGameBoard());
+            System.out.println(Table.get().getGameBoard().currentPlayer() + " " + strategy + ": " +
+                    strategy.getSearchStatistics() + ", pv " + strategy.getPrincipalVariation());
             Table.get().getGraphPanel().plotScore(Table.get().getGraphPanel().getLastScore() + strategy.getExecutionTime());
             return bestMove;
         }
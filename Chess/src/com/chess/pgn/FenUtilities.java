@@ -1,8 +1,15 @@
 package com.chess.pgn;
 
 import com.chess.engine.BoardUtils;
+import com.chess.engine.PieceColor;
 import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
 import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +26,76 @@ public class FenUtilities {
         return fenLog;
     }
 
+    //Castle rights are given to the King; a Rook without a right is marked as moved so it cannot castle either
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if(fenPartitions.length < 4) {
+            throw new RuntimeException("Invalid FEN string " + fenString);
+        }
+        final String castleText = fenPartitions[2];
+        final Board.Builder builder = new Board.Builder();
+        int tile = 0;
+        for(final char fenChar : fenPartitions[0].toCharArray()) {
+            if(fenChar == '/') {
+                continue;
+            }
+            if(Character.isDigit(fenChar)) {
+                tile += fenChar - '0';
+                continue;
+            }
+            builder.setPiece(createPiece(fenChar, tile, castleText));
+            tile++;
+        }
+        if(tile != BoardUtils.NUM_TILES) {
+            throw new RuntimeException("Invalid FEN board " + fenPartitions[0]);
+        }
+        final PieceColor moveMaker = calculateMoveMaker(fenPartitions[1]);
+        builder.setMoveMaker(moveMaker);
+        if(!fenPartitions[3].equals("-")) {
+            //The pawn that just jumped stands one tile past the en passant square
+            final int pawnPosition = BoardUtils.getCoordinateAtPosition(fenPartitions[3]) +
+                    BoardUtils.NUM_TILES_PER_ROW * moveMaker.getOppositeColor().getDirection();
+            builder.setEnPassantPawn(new Pawn(moveMaker.getOppositeColor(), pawnPosition));
+        }
+        return builder.build();
+    }
+
+    private static Piece createPiece(final char fenChar,
+                                     final int tile,
+                                     final String castleText) {
+        final PieceColor pieceColor = Character.isUpperCase(fenChar) ? PieceColor.WHITE : PieceColor.BLACK;
+        final String kingSide = pieceColor.isWhite() ? "K" : "k";
+        final String queenSide = pieceColor.isWhite() ? "Q" : "q";
+        switch(Character.toLowerCase(fenChar)) {
+            case 'p':
+                return new Pawn(pieceColor, tile);
+            case 'n':
+                return new Knight(pieceColor, tile);
+            case 'b':
+                return new Bishop(pieceColor, tile);
+            case 'r':
+                final boolean isKingSideRook = tile == (pieceColor.isWhite() ? 63 : 7);
+                final boolean isQueenSideRook = tile == (pieceColor.isWhite() ? 56 : 0);
+                return new Rook(pieceColor, tile, (isKingSideRook && castleText.contains(kingSide)) ||
+                                                  (isQueenSideRook && castleText.contains(queenSide)));
+            case 'q':
+                return new Queen(pieceColor, tile);
+            case 'k':
+                return new King(pieceColor, tile, castleText.contains(kingSide), castleText.contains(queenSide));
+            default:
+                throw new RuntimeException("Invalid FEN piece " + fenChar);
+        }
+    }
+
+    private static PieceColor calculateMoveMaker(final String moveMakerText) {
+        if(moveMakerText.equals("w")) {
+            return PieceColor.WHITE;
+        } else if(moveMakerText.equals("b")) {
+            return PieceColor.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN side to move " + moveMakerText);
+    }
+
     public static String createFENfromBoard(final Board board){
         return  calculateBoardText(board) + " " +
                 calculateCurrentPlayerText(board) + " " +
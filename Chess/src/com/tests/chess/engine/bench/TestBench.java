@@ -0,0 +1,23 @@
+package com.tests.chess.engine.bench;
+
+import com.chess.engine.bench.Bench;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class TestBench {
+
+    @Test
+    public void nodeCountIsDeterministic() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final long nodes = new Bench(2).run(new PrintStream(output));
+        assertTrue(nodes > 0);
+        assertEquals(new Bench(2).run(new PrintStream(new ByteArrayOutputStream())), nodes);
+        final String benchText = output.toString();
+        assertTrue(benchText.contains("Position  1/" + Bench.getPositionCount()));
+        assertTrue(benchText.contains("Nodes searched  : " + nodes));
+    }
+}
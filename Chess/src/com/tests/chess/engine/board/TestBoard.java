@@ -1,11 +1,16 @@
 package com.tests.chess.engine.board;
 
 import com.chess.engine.BoardUtils;
+import com.chess.engine.PieceColor;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.GameState;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.pgn.FenUtilities;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -32,6 +37,94 @@ public class TestBoard {
 //        assertTrue(board.whitePlayer().toString().equals("White"));
 //        assertTrue(board.blackPlayer().toString().equals("Black"));
     }
+    @Test
+    public void bitBoardsMatchTiles() {
+        final Board board = Board.createStandardBoard();
+        assertEquals(Long.bitCount(board.getOccupancy()), 32);
+        assertEquals(board.getOccupancy(PieceColor.WHITE), 0xFFFF000000000000L);
+        assertEquals(board.getOccupancy(PieceColor.BLACK), 0x000000000000FFFFL);
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = board.getTile(i).getPiece();
+            assertEquals(piece != null, board.isTileOccupied(i));
+            if(piece != null) {
+                assertTrue((board.getPieceBitBoard(piece.getPieceColor(), piece.getPieceType()) &
+                        BoardUtils.squareMask(i)) != 0);
+            }
+        }
+        assertEquals(board.getPieceBitBoard(PieceColor.WHITE, Piece.PieceType.KING),
+                BoardUtils.squareMask(BoardUtils.getCoordinateAtPosition("e1")));
+    }
+
+    @Test
+    public void squareAttacksMatchMoveGeneration() {
+        final Board board = playMoves(Board.createStandardBoard(), "e2", "e4", "f7", "f6", "d1", "h5");
+        assertTrue(board.currentPlayer().isInCheck());
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e8"), PieceColor.WHITE));
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("d3"), PieceColor.WHITE));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e4"), PieceColor.WHITE));
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e5"), PieceColor.BLACK));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("h4"), PieceColor.BLACK));
+        assertEquals(board.attackersTo(BoardUtils.getCoordinateAtPosition("f7")),
+                BoardUtils.squareMask(BoardUtils.getCoordinateAtPosition("h5")) |
+                BoardUtils.squareMask(BoardUtils.getCoordinateAtPosition("e8")));
+        for(final Move move : board.currentPlayer().getOpponent().getLegalMoves()) {
+            if(move.isAttack()) {
+                assertTrue(board.isSquareAttacked(move.getDestinationCoordinate(), PieceColor.WHITE));
+            }
+        }
+    }
+
+    @Test
+    public void pinsAndDoubleChecksRestrictMoves() {
+        final Board pinned = FenUtilities.createGameFromFEN("k3r3/8/8/8/8/8/4R3/4K3 w - - 0 1");
+        assertEquals(pinned.currentPlayer().getLegalMoves().size(), 10);
+        for(final Move move : pinned.currentPlayer().getLegalMoves()) {
+            if(move.getMovedPiece().getPieceType() == Piece.PieceType.ROOK) {
+                assertEquals(BoardUtils.getColumn(move.getDestinationCoordinate()), BoardUtils.getColumn(
+                        BoardUtils.getCoordinateAtPosition("e2")));
+            }
+        }
+        final Board doubleCheck = FenUtilities.createGameFromFEN("4k3/8/3N4/8/8/8/8/q3R2K b - - 0 1");
+        assertTrue(doubleCheck.currentPlayer().isInCheck());
+        assertEquals(doubleCheck.currentPlayer().getLegalMoves().size(), 3);
+        for(final Move move : doubleCheck.currentPlayer().getLegalMoves()) {
+            assertEquals(move.getMovedPiece().getPieceType(), Piece.PieceType.KING);
+            assertTrue(doubleCheck.currentPlayer().makeMove(move).getMoveStatus().isDone());
+        }
+    }
+
+    @Test
+    public void zobristHashTracksTranspositions() {
+        final Board board = Board.createStandardBoard();
+        final Board knightsBack = playMoves(board, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(board.getZobristHash(), knightsBack.getZobristHash());
+        assertEquals(board, knightsBack);
+        assertEquals(board.hashCode(), knightsBack.hashCode());
+
+        final Board first = playMoves(board, "e2", "e3", "e7", "e6", "g1", "f3");
+        final Board second = playMoves(board, "g1", "f3", "e7", "e6", "e2", "e3");
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+        assertEquals(first, second);
+        assertNotEquals(board.getZobristHash(), first.getZobristHash());
+        assertNotEquals(board, first);
+
+        final Board jumped = playMoves(board, "e2", "e4");
+        assertNotEquals(jumped.getZobristHash(), playMoves(board, "e2", "e3").getZobristHash());
+        assertEquals(new SearchBoard(jumped).getZobristHash(), jumped.getZobristHash());
+        assertEquals(new SearchBoard(first).getZobristHash(), first.getZobristHash());
+    }
+
+    private static Board playMoves(final Board board, final String... squares) {
+        Board currentBoard = board;
+        for(int i = 0; i < squares.length; i += 2) {
+            final MoveTransition transition = currentBoard.currentPlayer().makeMove(Move.MoveFactory.createMove(currentBoard,
+                    BoardUtils.getCoordinateAtPosition(squares[i]), BoardUtils.getCoordinateAtPosition(squares[i + 1])));
+            assertTrue(transition.getMoveStatus().isDone());
+            currentBoard = transition.getToBoard();
+        }
+        return currentBoard;
+    }
+
     @Test
     public void testFoolsMate(){
         final Board board = Board.createStandardBoard();
@@ -58,5 +151,22 @@ public class TestBoard {
         final Move bestMove = Move.MoveFactory.createMove(t3.getToBoard(), BoardUtils.getCoordinateAtPosition("d8"),
                 BoardUtils.getCoordinateAtPosition("h4"));
         assertEquals(aiMove, bestMove);
+        final Board mated = t3.getToBoard().currentPlayer().makeMove(aiMove).getToBoard();
+        assertEquals(mated.getGameState(), GameState.CHECKMATE);
+        assertTrue(mated.currentPlayer().isInCheckMate());
+        assertTrue(mated.currentPlayer().getLegalMoves().isEmpty());
+    }
+
+    @Test
+    public void gameStateOfTerminalPositions() {
+        assertEquals(Board.createStandardBoard().getGameState(), GameState.ONGOING);
+        final Board stalemate = FenUtilities.createGameFromFEN("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        assertEquals(stalemate.getGameState(), GameState.STALEMATE);
+        assertTrue(stalemate.currentPlayer().isInStaleMate());
+        assertFalse(stalemate.currentPlayer().isInCheckMate());
+        final Board check = FenUtilities.createGameFromFEN("7k/8/6K1/8/8/8/8/7Q b - - 0 1");
+        assertEquals(check.getGameState(), GameState.CHECK);
+        assertFalse(check.getGameState().isGameOver());
+        assertEquals(check.currentPlayer().getLegalMoves().size(), 1);
     }
 }
\ No newline at end of file
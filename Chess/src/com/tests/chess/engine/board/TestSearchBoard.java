@@ -0,0 +1,99 @@
+package com.tests.chess.engine.board;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.PieceColor;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestSearchBoard {
+
+    @Test
+    public void initialSearchBoard() {
+        final Board board = Board.createStandardBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        assertEquals(searchBoard.generateMoves(moves), 20);
+        assertEquals(searchBoard.getSideToMove(), PieceColor.WHITE);
+        assertEquals(searchBoard.getOccupancy(), board.getOccupancy());
+        assertFalse(searchBoard.isInCheck());
+        assertTrue(searchBoard.isKingSideCastleCapable(PieceColor.WHITE));
+        assertTrue(searchBoard.isQueenSideCastleCapable(PieceColor.BLACK));
+    }
+
+    @Test
+    public void makeAndUnmakeRestorePosition() {
+        final Board board = Board.createStandardBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        assertEquals(countNodes(searchBoard, 3), 8902);
+        assertEquals(searchBoard.getSideToMove(), PieceColor.WHITE);
+        for (final PieceColor color : PieceColor.values()) {
+            for (final Piece.PieceType type : Piece.PieceType.values()) {
+                assertEquals(searchBoard.getPieceBitBoard(color, type), board.getPieceBitBoard(color, type));
+            }
+        }
+    }
+
+    @Test
+    public void nullMovePassesTheTurn() {
+        final SearchBoard searchBoard = new SearchBoard(Board.createStandardBoard());
+        assertTrue(searchBoard.makeMove(searchBoard.findMove(BoardUtils.getCoordinateAtPosition("e2"),
+                BoardUtils.getCoordinateAtPosition("e4"))));
+        final long hash = searchBoard.getZobristHash();
+        searchBoard.makeNullMove();
+        assertTrue(searchBoard.isAfterNullMove());
+        assertEquals(searchBoard.getSideToMove(), PieceColor.WHITE);
+        final SearchBoard passed = new SearchBoard(FenUtilities.createGameFromFEN(
+                "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 1"));
+        assertEquals(searchBoard.getZobristHash(), passed.getZobristHash());
+        searchBoard.unmakeNullMove();
+        assertFalse(searchBoard.isAfterNullMove());
+        assertEquals(searchBoard.getSideToMove(), PieceColor.BLACK);
+        assertEquals(searchBoard.getZobristHash(), hash);
+        assertTrue(searchBoard.hasNonPawnMaterial(PieceColor.WHITE));
+        assertFalse(new SearchBoard(FenUtilities.createGameFromFEN("4k3/4p3/8/8/8/8/4P3/4K3 w - - 0 1"))
+                .hasNonPawnMaterial(PieceColor.WHITE));
+    }
+
+    @Test
+    public void underPromotionsAreGenerated() {
+        for (final PerftPosition position : new PerftPosition[]{PerftPosition.POSITION_4, PerftPosition.POSITION_5}) {
+            final SearchBoard searchBoard = new SearchBoard(position.createBoard());
+            assertEquals(countNodes(searchBoard, 3), position.getExpectedNodes(3));
+        }
+        final SearchBoard searchBoard = new SearchBoard(PerftPosition.POSITION_5.createBoard());
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int moveCount = searchBoard.generateMoves(moves);
+        int promotions = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (SearchBoard.isPromotion(moves[i])) {
+                promotions++;
+                assertTrue(SearchBoard.getPromotionType(moves[i]) != Piece.PieceType.PAWN);
+                assertTrue(moves[i] < (1 << 16));
+            }
+        }
+        assertEquals(promotions, 4);
+        assertEquals(SearchBoard.getPromotionType(searchBoard.findMove(11, 2)), Piece.PieceType.QUEEN);
+    }
+
+    private static long countNodes(final SearchBoard searchBoard, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int moveCount = searchBoard.generateMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (searchBoard.makeMove(moves[i])) {
+                nodes += countNodes(searchBoard, depth - 1);
+                searchBoard.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+}
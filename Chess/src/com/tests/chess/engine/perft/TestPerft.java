@@ -0,0 +1,61 @@
+package com.tests.chess.engine.perft;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.Perft;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class TestPerft {
+
+    @Test
+    public void referencePositions() {
+        final Perft perft = new Perft();
+        assertEquals(perft.count(PerftPosition.START_POSITION.createBoard(), 3),
+                PerftPosition.START_POSITION.getExpectedNodes(3));
+        assertEquals(perft.count(PerftPosition.KIWIPETE.createBoard(), 3),
+                PerftPosition.KIWIPETE.getExpectedNodes(3));
+        assertEquals(perft.count(PerftPosition.POSITION_3.createBoard(), 3),
+                PerftPosition.POSITION_3.getExpectedNodes(3));
+        assertEquals(perft.count(PerftPosition.POSITION_6.createBoard(), 2),
+                PerftPosition.POSITION_6.getExpectedNodes(2));
+    }
+
+    @Test
+    public void cachedAndParallelCountsMatch() {
+        final Board board = PerftPosition.POSITION_3.createBoard();
+        final long expected = PerftPosition.POSITION_3.getExpectedNodes(3);
+        assertEquals(new Perft(1, 1).count(board, 3), expected);
+        assertEquals(new Perft(1, 4).count(board, 3), expected);
+        assertEquals(new Perft(0, 4).count(board, 3), expected);
+    }
+
+    @Test
+    public void divideSumsToTotal() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final long nodes = new Perft().divide(Board.createStandardBoard(), 2, new PrintStream(output));
+        assertEquals(nodes, 400);
+        final String divideText = output.toString();
+        assertTrue(divideText.contains("e2e4: 20"));
+        assertTrue(divideText.contains("Moves: 20"));
+    }
+
+    @Test
+    public void fenRoundTrip() {
+        final Board board = Board.createStandardBoard();
+        assertEquals(FenUtilities.createGameFromFEN(FenUtilities.createFENfromBoard(board)), board);
+        final Board jumped = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition("e2"), BoardUtils.getCoordinateAtPosition("e4"))).getToBoard();
+        final Board parsed = FenUtilities.createGameFromFEN(FenUtilities.createFENfromBoard(jumped));
+        assertEquals(parsed, jumped);
+        assertEquals(parsed.getEnPassantPawn().getPiecePosition(), BoardUtils.getCoordinateAtPosition("e4"));
+        assertEquals(parsed.getZobristHash(), jumped.getZobristHash());
+    }
+}
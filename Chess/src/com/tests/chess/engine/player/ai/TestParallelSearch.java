@@ -0,0 +1,38 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBetaPruning;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestParallelSearch {
+
+    @Test
+    public void parallelMiniMaxMatchesSerial() {
+        //1. e4 d5
+        final Board board = FenUtilities.createGameFromFEN("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2");
+        assertEquals(new MiniMax(3, 4).execute(board), new MiniMax(3).execute(board));
+    }
+
+    @Test
+    public void rootSplitIsIndependentOfThreadCount() {
+        //1. e4 e5 2. Nf3
+        final Board board = FenUtilities.createGameFromFEN("rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2");
+        final Move serialMove = new AlphaBetaPruning.Builder()
+                .setSearchDepth(4)
+                .setRootSplit(true)
+                .build()
+                .execute(board);
+        final Move parallelMove = new AlphaBetaPruning.Builder()
+                .setSearchDepth(4)
+                .setRootSplit(true)
+                .setThreadCount(4)
+                .build()
+                .execute(board);
+        assertEquals(parallelMove, serialMove);
+    }
+}
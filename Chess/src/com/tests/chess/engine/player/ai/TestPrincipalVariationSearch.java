@@ -0,0 +1,43 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBetaPruning;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestPrincipalVariationSearch {
+
+    @Test
+    public void principalVariationStartsWithTheBestMove() {
+        final Board board = PerftPosition.KIWIPETE.createBoard();
+        final MoveStrategy strategy = new AlphaBetaPruning(5);
+        final Move bestMove = strategy.execute(board);
+        final List<Move> line = strategy.getPrincipalVariation();
+        assertTrue(line.size() >= 2);
+        assertEquals(line.get(0), bestMove);
+        Board currentBoard = board;
+        for (final Move move : line) {
+            final MoveTransition transition = currentBoard.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone());
+            currentBoard = transition.getToBoard();
+        }
+    }
+
+    @Test
+    public void searchIsColorSymmetric() {
+        final Move whiteMove = new AlphaBetaPruning(4).execute(
+                FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1"));
+        final Move blackMove = new AlphaBetaPruning(4).execute(
+                FenUtilities.createGameFromFEN("r5k1/5ppp/8/8/8/8/5PPP/6K1 b - - 0 1"));
+        assertEquals(whiteMove.toString(), "Ra8");
+        assertEquals(blackMove.toString(), "Ra1");
+    }
+}
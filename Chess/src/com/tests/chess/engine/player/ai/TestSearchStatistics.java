@@ -0,0 +1,45 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBetaPruning;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchStatistics;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestSearchStatistics {
+
+    @Test
+    public void miniMaxCountsEveryNode() {
+        final MoveStrategy strategy = new MiniMax(2);
+        strategy.execute(Board.createStandardBoard());
+        final SearchStatistics statistics = strategy.getSearchStatistics();
+        assertEquals(statistics.getNodes(), 20 + 400);
+        assertEquals(statistics.getEvaluations(), 400);
+        assertEquals(statistics.getSelectiveDepth(), 2);
+        assertEquals(statistics.getIterations().size(), 1);
+    }
+
+    @Test
+    public void alphaBetaRecordsIterations() {
+        final MoveStrategy strategy = new AlphaBetaPruning(4);
+        strategy.execute(Board.createStandardBoard());
+        final SearchStatistics statistics = strategy.getSearchStatistics();
+        final List<SearchStatistics.Iteration> iterations = statistics.getIterations();
+        assertEquals(iterations.size(), 4);
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(iterations.get(i).getDepth(), i + 1);
+            assertTrue(i == 0 || iterations.get(i).getNodes() > iterations.get(i - 1).getNodes());
+        }
+        assertEquals(iterations.get(3).getNodes(), statistics.getNodes());
+        assertTrue(statistics.getSelectiveDepth() >= 4);
+        assertTrue(statistics.getBetaCutoffs() > 0);
+        assertTrue(statistics.getFirstMoveCutoffRate() > 0 && statistics.getFirstMoveCutoffRate() <= 1);
+        assertTrue(statistics.getTranspositionHits() <= statistics.getTranspositionProbes());
+        assertTrue(statistics.getEvaluations() > 0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.BoardUtils;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.engine.player.ai.AlphaBetaPruning;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchExtension;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestSelectiveSearch {
+
+    @Test
+    public void pruningShrinksTheTree() {
+        final Board board = PerftPosition.KIWIPETE.createBoard();
+        final MoveStrategy fullWidth = new AlphaBetaPruning.Builder()
+                .setSearchDepth(4)
+                .setNullMoveReduction(0)
+                .setLateMoveReductions(new int[0][])
+                .setFutilityMargins(new int[0])
+                .build();
+        fullWidth.execute(board);
+        final MoveStrategy selective = new AlphaBetaPruning.Builder()
+                .setSearchDepth(4)
+                .build();
+        selective.execute(board);
+        final SearchStatistics statistics = selective.getSearchStatistics();
+        assertEquals(fullWidth.getSearchStatistics().getLateMoveReductions(), 0);
+        assertEquals(fullWidth.getSearchStatistics().getFutilityPrunes(), 0);
+        assertEquals(fullWidth.getSearchStatistics().getNullMoveCutoffs(), 0);
+        assertTrue(statistics.getLateMoveReductions() > 0);
+        assertTrue(statistics.getLateMoveReSearches() <= statistics.getLateMoveReductions());
+        assertTrue(statistics.getNodes() < fullWidth.getSearchStatistics().getNodes());
+        assertTrue(statistics.getLosingCapturePrunes() > 0);
+    }
+
+    @Test
+    public void principalVariationNodesDoNotPass() {
+        //Split at the root every move is searched with the full window, and at depth 4 only the root's
+        //children are deep enough for a null move, so none may be tried
+        final MoveStrategy fullWindow = new AlphaBetaPruning.Builder()
+                .setSearchDepth(4)
+                .setRootSplit(true)
+                .setExtensions()
+                .build();
+        fullWindow.execute(PerftPosition.KIWIPETE.createBoard());
+        assertEquals(fullWindow.getSearchStatistics().getNullMoves(), 0);
+        assertEquals(fullWindow.getSearchStatistics().getNullMoveCutoffs(), 0);
+    }
+
+    @Test
+    public void extensionsStayWithinBudget() {
+        final Board board = PerftPosition.KIWIPETE.createBoard();
+        final MoveStrategy unextended = new AlphaBetaPruning.Builder()
+                .setSearchDepth(3)
+                .setExtensions()
+                .build();
+        unextended.execute(board);
+        final MoveStrategy noBudget = new AlphaBetaPruning.Builder()
+                .setSearchDepth(3)
+                .setExtensionBudget(0)
+                .build();
+        noBudget.execute(board);
+        final MoveStrategy extended = new AlphaBetaPruning.Builder()
+                .setSearchDepth(3)
+                .setExtensions(SearchExtension.CHECK, SearchExtension.RECAPTURE, SearchExtension.PAWN_TO_SEVENTH)
+                .setExtensionBudget(1)
+                .build();
+        extended.execute(board);
+        assertEquals(unextended.getSearchStatistics().getExtensions(), 0);
+        assertEquals(noBudget.getSearchStatistics().getExtensions(), 0);
+        assertEquals(unextended.getSearchStatistics().getNodes(), noBudget.getSearchStatistics().getNodes());
+        assertTrue(extended.getSearchStatistics().getExtensions() > 0);
+        assertTrue(extended.getSearchStatistics().getNodes() > unextended.getSearchStatistics().getNodes());
+    }
+
+    @Test
+    public void losingCapturesAreNotTaken() {
+        //Qxd5 wins a pawn but the pawn on e6 and the rook on d8 both take the queen back
+        final Board board = FenUtilities.createGameFromFEN("3r2k1/5ppp/4p3/3p4/8/8/3Q1PPP/6K1 w - - 0 1");
+        final Move queenTakes = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d2"),
+                BoardUtils.getCoordinateAtPosition("d5"));
+        assertNotEquals(new AlphaBetaPruning(3).execute(board), queenTakes);
+    }
+
+    @Test
+    public void pruningKeepsMates() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+        final Move mate = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("a1"),
+                BoardUtils.getCoordinateAtPosition("a8"));
+        assertEquals(new AlphaBetaPruning(4).execute(board), mate);
+        assertEquals(new AlphaBetaPruning(5).execute(board), mate);
+    }
+}
@@ -0,0 +1,46 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.engine.player.ai.TranspositionTable.ReplacementScheme;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestTranspositionTable {
+
+    @Test
+    public void storeAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1, ReplacementScheme.DEPTH_PREFERRED);
+        assertEquals(table.size(), 65536);
+        final long key = 0x123456789ABCDEFL;
+        assertEquals(table.probe(key), 0L);
+        table.store(key, 0x1F3C, -1000000, 5, TranspositionTable.UPPER_BOUND);
+        final long entry = table.probe(key);
+        assertEquals(TranspositionTable.getMove(entry), 0x1F3C);
+        assertEquals(TranspositionTable.getScore(entry), -1000000);
+        assertEquals(TranspositionTable.getDepth(entry), 5);
+        assertEquals(TranspositionTable.getBound(entry), TranspositionTable.UPPER_BOUND);
+        assertEquals(table.probe(key + table.size()), 0L);
+    }
+
+    @Test
+    public void depthPreferredReplacement() {
+        final TranspositionTable table = new TranspositionTable(1, ReplacementScheme.DEPTH_PREFERRED);
+        final long deepKey = 42L;
+        final long shallowKey = deepKey + table.size();
+        table.store(deepKey, 1, 10, 6, TranspositionTable.EXACT);
+        table.store(shallowKey, 2, 20, 2, TranspositionTable.EXACT);
+        assertNotEquals(table.probe(deepKey), 0L);
+        assertEquals(table.probe(shallowKey), 0L);
+
+        table.newSearch();
+        table.store(shallowKey, 2, 20, 2, TranspositionTable.EXACT);
+        assertEquals(table.probe(deepKey), 0L);
+        assertEquals(TranspositionTable.getScore(table.probe(shallowKey)), 20);
+
+        final TranspositionTable alwaysReplace = new TranspositionTable(1, ReplacementScheme.ALWAYS_REPLACE);
+        alwaysReplace.store(deepKey, 1, 10, 6, TranspositionTable.EXACT);
+        alwaysReplace.store(shallowKey, 2, 20, 2, TranspositionTable.EXACT);
+        assertEquals(alwaysReplace.probe(deepKey), 0L);
+    }
+}